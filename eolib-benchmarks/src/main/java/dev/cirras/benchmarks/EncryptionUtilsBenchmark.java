@@ -0,0 +1,170 @@
+package dev.cirras.benchmarks;
+
+import dev.cirras.encrypt.EncryptionUtils;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link EncryptionUtils#flipMsb}, {@link EncryptionUtils#swapMultiples}, {@link
+ * EncryptionUtils#interleave} and {@link EncryptionUtils#deinterleave} with their original
+ * implementations.
+ *
+ * <p>Flipping and swapping are their own inverse, so the data alternates between two states across
+ * invocations rather than needing to be reset. Interleaving permutes the data differently on each
+ * invocation, but its cost does not depend on the data.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EncryptionUtilsBenchmark {
+  @Param({"8", "64", "512", "4096", "65536"})
+  private int size;
+
+  @Param({"6", "10"})
+  private int multiple;
+
+  private byte[] data;
+  private byte[] scratch;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(0xE0);
+    data = new byte[size];
+    scratch = new byte[size];
+    random.nextBytes(data);
+    // Make sequences of multiples common, as they are in real packets.
+    for (int i = 0; i < size; i += 2) {
+      data[i] = (byte) (random.nextInt(8) * multiple);
+    }
+  }
+
+  @Benchmark
+  public byte[] flipMsb() {
+    EncryptionUtils.flipMsb(data);
+    return data;
+  }
+
+  @Benchmark
+  public byte[] flipMsbBaseline() {
+    for (int i = 0; i < data.length; ++i) {
+      if ((data[i] & 0x7F) != 0) {
+        data[i] = (byte) (data[i] ^ 0x80);
+      }
+    }
+    return data;
+  }
+
+  @Benchmark
+  public byte[] swapMultiples() {
+    EncryptionUtils.swapMultiples(data, multiple);
+    return data;
+  }
+
+  @Benchmark
+  public byte[] swapMultiplesBaseline() {
+    int sequenceLength = 0;
+
+    for (int i = 0; i <= data.length; ++i) {
+      if (i != data.length && Byte.toUnsignedInt(data[i]) % multiple == 0) {
+        ++sequenceLength;
+      } else {
+        if (sequenceLength > 1) {
+          for (int ii = 0; ii < sequenceLength / 2; ++ii) {
+            byte b = data[i - sequenceLength + ii];
+            data[i - sequenceLength + ii] = data[i - ii - 1];
+            data[i - ii - 1] = b;
+          }
+        }
+
+        sequenceLength = 0;
+      }
+    }
+    return data;
+  }
+
+  @Benchmark
+  public byte[] interleave() {
+    EncryptionUtils.interleave(data);
+    return data;
+  }
+
+  @Benchmark
+  public byte[] interleaveWithScratch() {
+    EncryptionUtils.interleave(data, 0, data.length, scratch);
+    return data;
+  }
+
+  @Benchmark
+  public byte[] interleaveBaseline() {
+    byte[] buffer = new byte[data.length];
+    int i = 0;
+    int ii = 0;
+
+    for (; i < data.length; i += 2) {
+      buffer[i] = data[ii++];
+    }
+
+    --i;
+
+    if (data.length % 2 != 0) {
+      i -= 2;
+    }
+
+    for (; i >= 0; i -= 2) {
+      buffer[i] = data[ii++];
+    }
+
+    System.arraycopy(buffer, 0, data, 0, data.length);
+    return data;
+  }
+
+  @Benchmark
+  public byte[] deinterleave() {
+    EncryptionUtils.deinterleave(data);
+    return data;
+  }
+
+  @Benchmark
+  public byte[] deinterleaveWithScratch() {
+    EncryptionUtils.deinterleave(data, 0, data.length, scratch);
+    return data;
+  }
+
+  @Benchmark
+  public byte[] deinterleaveBaseline() {
+    byte[] buffer = new byte[data.length];
+    int i = 0;
+    int ii = 0;
+
+    for (; i < data.length; i += 2) {
+      buffer[ii++] = data[i];
+    }
+
+    --i;
+
+    if (data.length % 2 != 0) {
+      i -= 2;
+    }
+
+    for (; i >= 0; i -= 2) {
+      buffer[ii++] = data[i];
+    }
+
+    System.arraycopy(buffer, 0, data, 0, data.length);
+    return data;
+  }
+}
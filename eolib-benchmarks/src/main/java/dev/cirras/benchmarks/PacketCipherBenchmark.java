@@ -0,0 +1,89 @@
+package dev.cirras.benchmarks;
+
+import dev.cirras.encrypt.EncryptionUtils;
+import dev.cirras.encrypt.PacketCipher;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link PacketCipher} with chaining the {@link EncryptionUtils} steps on a copy of the
+ * packet, as callers did before it existed.
+ *
+ * <p>Each invocation encrypts and then decrypts the packet, so that it is restored for the next
+ * invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PacketCipherBenchmark {
+  @Param({"8", "64", "512", "4096"})
+  private int size;
+
+  @Param({"6", "10"})
+  private int multiple;
+
+  private PacketCipher cipher;
+  private byte[] packet;
+  private ByteBuffer directBuffer;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(0xE0);
+    cipher = new PacketCipher(multiple, multiple);
+    packet = new byte[size];
+    random.nextBytes(packet);
+    // Make sequences of multiples common, as they are in real packets. This also keeps the family
+    // byte away from 0xFF, so the packet is never treated as an INIT packet.
+    for (int i = 2; i < size; i += 2) {
+      packet[i] = (byte) (random.nextInt(8) * multiple);
+    }
+    directBuffer = ByteBuffer.allocateDirect(size);
+    directBuffer.put(packet);
+  }
+
+  @Benchmark
+  public byte[] encryptDecrypt() {
+    cipher.encrypt(packet);
+    cipher.decrypt(packet);
+    return packet;
+  }
+
+  @Benchmark
+  public ByteBuffer encryptDecryptDirectBuffer() {
+    cipher.encrypt(directBuffer, 0, size);
+    cipher.decrypt(directBuffer, 0, size);
+    return directBuffer;
+  }
+
+  @Benchmark
+  public byte[] encryptDecryptChained() {
+    byte[] data = Arrays.copyOfRange(packet, 2, packet.length);
+    EncryptionUtils.swapMultiples(data, multiple);
+    EncryptionUtils.flipMsb(data);
+    EncryptionUtils.interleave(data);
+    System.arraycopy(data, 0, packet, 2, data.length);
+
+    data = Arrays.copyOfRange(packet, 2, packet.length);
+    EncryptionUtils.deinterleave(data);
+    EncryptionUtils.flipMsb(data);
+    EncryptionUtils.swapMultiples(data, multiple);
+    System.arraycopy(data, 0, packet, 2, data.length);
+    return packet;
+  }
+}
@@ -0,0 +1,38 @@
+package dev.cirras.data;
+
+abstract class AbstractEoWriterPool implements EoWriterPool {
+  private final int initialCapacity;
+  private final int maxRetainedCapacity;
+
+  protected AbstractEoWriterPool(int initialCapacity, int maxRetainedCapacity) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Negative initial capacity");
+    }
+    if (maxRetainedCapacity < 0) {
+      throw new IllegalArgumentException("Negative max retained capacity");
+    }
+    this.initialCapacity = initialCapacity;
+    this.maxRetainedCapacity = maxRetainedCapacity;
+  }
+
+  @Override
+  public final EoWriter acquire() {
+    EoWriter writer = poll();
+    if (writer == null) {
+      return new EoWriter(initialCapacity);
+    }
+    writer.reset();
+    return writer;
+  }
+
+  @Override
+  public final void release(EoWriter writer) {
+    if (writer.getCapacity() <= maxRetainedCapacity) {
+      offer(writer);
+    }
+  }
+
+  protected abstract EoWriter poll();
+
+  protected abstract void offer(EoWriter writer);
+}
@@ -0,0 +1,164 @@
+package dev.cirras.data;
+
+import dev.cirras.internal.ByteArrays;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * A utility class for locating break bytes ({@code 0xFF}) in a sequence of bytes.
+ *
+ * <p>Scanning is performed a word at a time (SWAR), testing 8 bytes per step. Buffers backed by an
+ * accessible array are scanned through {@link ByteArrays}, which reads each word with a single
+ * access on Java 17 and later.
+ */
+final class BreakScanner {
+  private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+  /**
+   * Finds the index of the first break byte in a range of a buffer.
+   *
+   * @param buffer the buffer to scan
+   * @param from the index of the first byte to scan, inclusive
+   * @param to the index of the last byte to scan, exclusive
+   * @return the index of the first break byte, or {@code to} if there is none
+   */
+  static int indexOfBreak(ByteBuffer buffer, int from, int to) {
+    if (buffer.hasArray()) {
+      int offset = buffer.arrayOffset();
+      return indexOfBreak(buffer.array(), offset + from, offset + to) - offset;
+    }
+
+    boolean littleEndian = buffer.order() == ByteOrder.LITTLE_ENDIAN;
+    int i = from;
+
+    for (; i + Long.BYTES <= to; i += Long.BYTES) {
+      long mask = breakMask(buffer.getLong(i));
+      if (mask != 0) {
+        int zeros =
+            littleEndian ? Long.numberOfTrailingZeros(mask) : Long.numberOfLeadingZeros(mask);
+        return i + zeros / Byte.SIZE;
+      }
+    }
+
+    for (; i < to; ++i) {
+      if (buffer.get(i) == (byte) 0xFF) {
+        return i;
+      }
+    }
+
+    return to;
+  }
+
+  /**
+   * Finds the index of the last break byte in a range of a buffer.
+   *
+   * @param buffer the buffer to scan
+   * @param from the index of the first byte to scan, inclusive
+   * @param to the index of the last byte to scan, exclusive
+   * @return the index of the last break byte, or {@code from - 1} if there is none
+   */
+  static int lastIndexOfBreak(ByteBuffer buffer, int from, int to) {
+    if (buffer.hasArray()) {
+      int offset = buffer.arrayOffset();
+      return lastIndexOfBreak(buffer.array(), offset + from, offset + to) - offset;
+    }
+
+    boolean littleEndian = buffer.order() == ByteOrder.LITTLE_ENDIAN;
+    int i = to;
+
+    for (; i - Long.BYTES >= from; i -= Long.BYTES) {
+      long mask = breakMask(buffer.getLong(i - Long.BYTES));
+      if (mask != 0) {
+        int zeros =
+            littleEndian ? Long.numberOfLeadingZeros(mask) : Long.numberOfTrailingZeros(mask);
+        return i - 1 - zeros / Byte.SIZE;
+      }
+    }
+
+    for (--i; i >= from; --i) {
+      if (buffer.get(i) == (byte) 0xFF) {
+        return i;
+      }
+    }
+
+    return from - 1;
+  }
+
+  private static int indexOfBreak(byte[] array, int from, int to) {
+    int i = from;
+
+    for (; i + Long.BYTES <= to; i += Long.BYTES) {
+      long mask = breakMask(ByteArrays.getLong(array, i));
+      if (mask != 0) {
+        return i + Long.numberOfTrailingZeros(mask) / Byte.SIZE;
+      }
+    }
+
+    for (; i < to; ++i) {
+      if (array[i] == (byte) 0xFF) {
+        return i;
+      }
+    }
+
+    return to;
+  }
+
+  private static int lastIndexOfBreak(byte[] array, int from, int to) {
+    int i = to;
+
+    for (; i - Long.BYTES >= from; i -= Long.BYTES) {
+      long mask = breakMask(ByteArrays.getLong(array, i - Long.BYTES));
+      if (mask != 0) {
+        return i - 1 - Long.numberOfLeadingZeros(mask) / Byte.SIZE;
+      }
+    }
+
+    for (--i; i >= from; --i) {
+      if (array[i] == (byte) 0xFF) {
+        return i;
+      }
+    }
+
+    return from - 1;
+  }
+
+  /**
+   * Finds the indices of all break bytes in a range of a buffer.
+   *
+   * @param buffer the buffer to scan
+   * @param from the index of the first byte to scan, inclusive
+   * @param to the index of the last byte to scan, exclusive
+   * @return the indices of all break bytes, in ascending order
+   */
+  static int[] indicesOfBreaks(ByteBuffer buffer, int from, int to) {
+    int[] result = new int[16];
+    int count = 0;
+
+    for (int i = indexOfBreak(buffer, from, to); i < to; i = indexOfBreak(buffer, i + 1, to)) {
+      if (count == result.length) {
+        result = Arrays.copyOf(result, count * 2);
+      }
+      result[count++] = i;
+    }
+
+    return Arrays.copyOf(result, count);
+  }
+
+  /**
+   * Computes a mask with the high bit set in each byte of {@code word} that is equal to {@code
+   * 0xFF}, and all other bits clear.
+   *
+   * <p>The bytes are inverted so that breaks become zero bytes, then the exact (carry-free) variant
+   * of the "has zero byte" test is applied, so that there are no false positives in either byte
+   * order.
+   */
+  private static long breakMask(long word) {
+    long inverted = ~word;
+    return ~(((inverted & LOW_BITS) + LOW_BITS) | inverted | LOW_BITS);
+  }
+
+  private BreakScanner() {
+    // utility class
+  }
+}
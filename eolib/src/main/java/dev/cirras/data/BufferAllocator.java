@@ -0,0 +1,65 @@
+package dev.cirras.data;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Supplies buffers to an {@link EoWriter} that writes to a {@link ByteBuffer}, when the writer data
+ * outgrows its current buffer, and segments to a segmented {@link EoWriter}.
+ *
+ * <p>This can be used to take buffers from a pool, or to limit the size of the writer data by
+ * throwing an exception.
+ *
+ * @see EoWriter#EoWriter(ByteBuffer, BufferAllocator)
+ * @see EoWriter#segmented(int, BufferAllocator)
+ */
+@FunctionalInterface
+public interface BufferAllocator {
+  /** An allocator that allocates new heap buffers. */
+  BufferAllocator HEAP = ByteBuffer::allocate;
+
+  /** An allocator that allocates new direct buffers. */
+  BufferAllocator DIRECT = ByteBuffer::allocateDirect;
+
+  /**
+   * Allocates a new buffer.
+   *
+   * <p>The writer data will be written starting at the position of the returned buffer, and may
+   * fill it up to its limit.
+   *
+   * @param capacity the minimum number of bytes required between the position and the limit of the
+   *     new buffer
+   * @return the new buffer
+   */
+  ByteBuffer allocate(int capacity);
+
+  /**
+   * Releases a buffer that the writer no longer uses.
+   *
+   * <p>This is called with the previous buffer after the writer data has been copied out of it and
+   * into a new buffer. The default implementation does nothing.
+   *
+   * @param buffer the buffer to release
+   */
+  default void release(ByteBuffer buffer) {}
+
+  /**
+   * Creates an allocator that pools buffers of a fixed size.
+   *
+   * <p>Requests for up to {@code bufferSize} bytes are served from the pool, or by allocating a
+   * buffer of exactly {@code bufferSize} bytes from {@code allocator} if the pool is empty. Larger
+   * requests are passed straight through to {@code allocator}. Released buffers of exactly {@code
+   * bufferSize} bytes are cleared and returned to the pool, unless it is full.
+   *
+   * <p>The returned allocator is thread-safe, so a single pool can be shared by any number of
+   * writers.
+   *
+   * @param allocator the allocator to allocate new buffers from
+   * @param bufferSize the size of the pooled buffers
+   * @param maxPoolSize the maximum number of buffers to retain
+   * @return a new pooled allocator
+   * @throws IllegalArgumentException if the buffer size or maximum pool size is not positive
+   */
+  static BufferAllocator pooled(BufferAllocator allocator, int bufferSize, int maxPoolSize) {
+    return new PooledBufferAllocator(allocator, bufferSize, maxPoolSize);
+  }
+}
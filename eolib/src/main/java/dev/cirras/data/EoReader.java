@@ -1,6 +1,13 @@
 package dev.cirras.data;
 
-import java.nio.charset.Charset;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
 
 /**
  * A class for reading EO data from a sequence of bytes.
@@ -8,17 +15,39 @@ import java.nio.charset.Charset;
  * <p>{@code EoReader} features a chunked reading mode, which is important for accurate emulation of
  * the official game client.
  *
+ * <p>The input data can be supplied as a byte array or as a {@link ByteBuffer}. Heap, direct and
+ * memory-mapped buffers are all read in place, without copying the input data.
+ *
+ * <p>A reader can be reused for new input data with {@link EoReader#reset}, and {@link
+ * EoReader#sliceInto} can be used in place of {@link EoReader#slice} to reuse an existing reader
+ * for a slice. Together, these allow a single set of readers to be kept per thread or per
+ * connection and used to read any number of packets without allocating.
+ *
+ * <p>Large inputs such as map and pub files can instead be streamed from an {@link InputStream} or
+ * a {@link ReadableByteChannel}. A streaming reader holds only a bounded window of the input data
+ * in memory, which is refilled from the stream as the reader advances.
+ *
  * @see <a href="https://github.com/Cirras/eo-protocol/blob/master/docs/chunks.md">Chunked
  *     Reading</a>
  */
 public final class EoReader {
-  private final byte[] data;
-  private final int offset;
-  private final int limit;
+  private static final int DEFAULT_STREAM_BUFFER_SIZE = 8192;
+
+  private byte[] array;
+  private ByteBuffer buffer;
+  private int offset;
+  private int limit;
   private int position;
   private boolean chunkedReadingMode;
+  private boolean lazyStringMode;
+  private StringCache stringCache;
   private int chunkStart;
   private int nextBreak;
+  private int[] breakPositions;
+  private int breakCursor;
+  private ReadableByteChannel channel;
+  private int windowEnd;
+  private int discardedBreak;
 
   /**
    * Creates a new {@code EoReader} instance for the specified data.
@@ -26,17 +55,152 @@ public final class EoReader {
    * @param data the byte array containing the input data
    */
   public EoReader(byte[] data) {
-    this(data, 0, data.length);
+    this(data, null, 0, data.length);
+  }
+
+  /**
+   * Creates a new {@code EoReader} instance for the specified buffer.
+   *
+   * <p>The input data will be the bytes between the buffer's position and its limit. The data is
+   * shared rather than copied, and the position, limit and mark of the buffer are not modified.
+   *
+   * @param buffer the buffer containing the input data
+   */
+  public EoReader(ByteBuffer buffer) {
+    reset(buffer);
+  }
+
+  /**
+   * Creates a new streaming {@code EoReader} instance for the specified input stream.
+   *
+   * @param input the input stream containing the input data
+   * @param length the number of bytes of input data to read from the stream
+   * @throws IllegalArgumentException if the length is negative
+   * @see EoReader#EoReader(ReadableByteChannel, int, int)
+   */
+  public EoReader(InputStream input, int length) {
+    this(Channels.newChannel(input), length);
+  }
+
+  /**
+   * Creates a new streaming {@code EoReader} instance for the specified channel.
+   *
+   * @param channel the channel containing the input data
+   * @param length the number of bytes of input data to read from the channel
+   * @throws IllegalArgumentException if the length is negative
+   * @see EoReader#EoReader(ReadableByteChannel, int, int)
+   */
+  public EoReader(ReadableByteChannel channel, int length) {
+    this(channel, length, DEFAULT_STREAM_BUFFER_SIZE);
+  }
+
+  /**
+   * Creates a new streaming {@code EoReader} instance for the specified channel.
+   *
+   * <p>The reader holds a window of the input data in a buffer of {@code bufferSize} bytes, and
+   * refills it from the channel as data is read. Data that the reader has moved past is discarded.
+   * The buffer only grows if a single read, or a single chunk in chunked reading mode, is larger
+   * than the buffer.
+   *
+   * <p>A streaming reader supports the same read operations as any other reader, with some
+   * exceptions:
+   *
+   * <ul>
+   *   <li>{@link EoReader#slice} and {@link EoReader#sliceInto} are not supported.
+   *   <li>{@link EoReader#cacheBreakPositions} is not supported.
+   *   <li>Strings are always decoded immediately, regardless of lazy string mode.
+   *   <li>Data before the reader position is discarded. If a break byte is found before the reader
+   *       position, the reader cannot move back to the chunk after it with {@link
+   *       EoReader#nextChunk} once that data has been discarded.
+   * </ul>
+   *
+   * <p>If the channel ends before {@code length} bytes have been read, the input data is treated as
+   * ending there. An {@link IOException} thrown by the channel is rethrown as an {@link
+   * UncheckedIOException}. The channel is not closed by the reader.
+   *
+   * @param channel the channel containing the input data
+   * @param length the number of bytes of input data to read from the channel
+   * @param bufferSize the initial size of the buffer
+   * @throws IllegalArgumentException if the length is negative, or if the buffer size is not
+   *     positive
+   */
+  public EoReader(ReadableByteChannel channel, int length, int bufferSize) {
+    if (length < 0) {
+      throw new IllegalArgumentException("Negative length");
+    }
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("Buffer size must be positive");
+    }
+    init(new byte[bufferSize], null, 0, length);
+    this.channel = channel;
+  }
+
+  private EoReader(byte[] array, ByteBuffer buffer, int offset, int limit) {
+    init(array, buffer, offset, limit);
+  }
+
+  /**
+   * Resets this reader to read from the specified data.
+   *
+   * <p>The reader's position will be zero, and its chunked reading mode will be false.
+   *
+   * @param data the byte array containing the input data
+   */
+  public void reset(byte[] data) {
+    init(data, null, 0, data.length);
   }
 
-  private EoReader(byte[] data, int offset, int limit) {
-    this.data = data;
+  /**
+   * Resets this reader to read from a subsequence of the specified data.
+   *
+   * <p>The reader's position will be zero, and its chunked reading mode will be false.
+   *
+   * @param data the byte array containing the input data
+   * @param offset the index of the first byte of input data in {@code data}
+   * @param length the number of bytes of input data
+   * @throws IndexOutOfBoundsException if {@code offset} or {@code length} is negative, or if {@code
+   *     offset + length} is greater than the length of {@code data}
+   */
+  public void reset(byte[] data, int offset, int length) {
+    if (offset < 0 || length < 0 || length > data.length - offset) {
+      throw new IndexOutOfBoundsException(
+          "offset " + offset + ", length " + length + ", array length " + data.length);
+    }
+    init(data, null, offset, length);
+  }
+
+  /**
+   * Resets this reader to read from the specified buffer.
+   *
+   * <p>The input data will be the bytes between the buffer's position and its limit. The data is
+   * shared rather than copied, and the position, limit and mark of the buffer are not modified.
+   *
+   * <p>The reader's position will be zero, and its chunked reading mode will be false.
+   *
+   * @param buffer the buffer containing the input data
+   */
+  public void reset(ByteBuffer buffer) {
+    if (buffer.hasArray()) {
+      init(buffer.array(), null, buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    } else {
+      init(null, buffer, buffer.position(), buffer.remaining());
+    }
+  }
+
+  private void init(byte[] array, ByteBuffer buffer, int offset, int limit) {
+    this.array = array;
+    this.buffer = buffer;
     this.offset = offset;
     this.limit = limit;
     this.position = 0;
     this.chunkedReadingMode = false;
     this.chunkStart = 0;
     this.nextBreak = -1;
+    this.breakPositions = null;
+    this.breakCursor = 0;
+    this.channel = null;
+    this.windowEnd = 0;
+    this.discardedBreak = -1;
   }
 
   /**
@@ -45,7 +209,8 @@ public final class EoReader {
    * <p>The input data of the new reader will start at this reader's current position and contain
    * all remaining data. The two reader's position and chunked reading mode will be independent.
    *
-   * <p>The new reader's position will be zero, and its chunked reading mode will be false.
+   * <p>The new reader's position will be zero, and its chunked reading mode will be false. Its lazy
+   * string mode and string cache will be the same as this reader's.
    *
    * @return the new reader
    */
@@ -60,7 +225,8 @@ public final class EoReader {
    * contain all remaining data. The two reader's position and chunked reading mode will be
    * independent.
    *
-   * <p>The new reader's position will be zero, and its chunked reading mode will be false.
+   * <p>The new reader's position will be zero, and its chunked reading mode will be false. Its lazy
+   * string mode and string cache will be the same as this reader's.
    *
    * @param index the position in this reader at which the data of the new reader will start; must
    *     be non-negative.
@@ -81,7 +247,8 @@ public final class EoReader {
    * contain up to {@code length} bytes. The two reader's position and chunked reading mode will be
    * independent.
    *
-   * <p>The new reader's position will be zero, and its chunked reading mode will be false.
+   * <p>The new reader's position will be zero, and its chunked reading mode will be false. Its lazy
+   * string mode and string cache will be the same as this reader's.
    *
    * @param index the position in this reader at which the data of the new reader will start; must
    *     be non-negative.
@@ -94,6 +261,61 @@ public final class EoReader {
    * @return the new reader
    */
   public EoReader slice(int index, int length) {
+    return sliceInto(new EoReader(array, buffer, offset, 0), index, length);
+  }
+
+  /**
+   * Resets an existing {@code EoReader} so that its input data is a shared subsequence of this
+   * reader's data.
+   *
+   * <p>This behaves like {@link EoReader#slice()}, but reuses {@code reader} instead of creating a
+   * new reader.
+   *
+   * @param reader the reader to reset
+   * @return {@code reader}
+   */
+  public EoReader sliceInto(EoReader reader) {
+    return sliceInto(reader, position);
+  }
+
+  /**
+   * Resets an existing {@code EoReader} so that its input data is a shared subsequence of this
+   * reader's data.
+   *
+   * <p>This behaves like {@link EoReader#slice(int)}, but reuses {@code reader} instead of creating
+   * a new reader.
+   *
+   * @param reader the reader to reset
+   * @param index the position in this reader at which the data of {@code reader} will start; must
+   *     be non-negative.
+   * @throws IndexOutOfBoundsException if {@code index} is negative.
+   * @return {@code reader}
+   */
+  public EoReader sliceInto(EoReader reader, int index) {
+    return sliceInto(reader, index, Math.max(0, limit - index));
+  }
+
+  /**
+   * Resets an existing {@code EoReader} so that its input data is a shared subsequence of this
+   * reader's data.
+   *
+   * <p>This behaves like {@link EoReader#slice(int, int)}, but reuses {@code reader} instead of
+   * creating a new reader. {@code reader} may be this reader.
+   *
+   * @param reader the reader to reset
+   * @param index the position in this reader at which the data of {@code reader} will start; must
+   *     be non-negative.
+   * @param length the length of the shared subsequence of data to supply to {@code reader}; must be
+   *     non-negative.
+   * @throws IndexOutOfBoundsException if {@code index} or {@code length} is negative.
+   * @throws UnsupportedOperationException if this is a streaming reader
+   * @return {@code reader}
+   */
+  public EoReader sliceInto(EoReader reader, int index, int length) {
+    if (channel != null) {
+      throw new UnsupportedOperationException("Streaming readers cannot be sliced.");
+    }
+
     if (index < 0) {
       throw new IndexOutOfBoundsException("negative index: " + index);
     }
@@ -105,7 +327,11 @@ public final class EoReader {
     int sliceOffset = Math.max(0, Math.min(limit, index));
     int sliceLimit = Math.min(limit - sliceOffset, length);
 
-    return new EoReader(data, sliceOffset, sliceLimit);
+    reader.init(array, buffer, offset + sliceOffset, sliceLimit);
+    reader.lazyStringMode = lazyStringMode;
+    reader.stringCache = stringCache;
+
+    return reader;
   }
 
   /**
@@ -132,7 +358,7 @@ public final class EoReader {
    * @return a decoded 1-byte integer
    */
   public int getChar() {
-    return NumberEncodingUtils.decodeNumber(readBytes(1));
+    return readNumber(1);
   }
 
   /**
@@ -141,7 +367,7 @@ public final class EoReader {
    * @return a decoded 2-byte integer
    */
   public int getShort() {
-    return NumberEncodingUtils.decodeNumber(readBytes(2));
+    return readNumber(2);
   }
 
   /**
@@ -150,7 +376,7 @@ public final class EoReader {
    * @return a decoded 3-byte integer
    */
   public int getThree() {
-    return NumberEncodingUtils.decodeNumber(readBytes(3));
+    return readNumber(3);
   }
 
   /**
@@ -159,7 +385,51 @@ public final class EoReader {
    * @return a decoded 4-byte integer
    */
   public int getInt() {
-    return NumberEncodingUtils.decodeNumber(readBytes(4));
+    return readNumber(4);
+  }
+
+  /**
+   * Reads an array of encoded 1-byte integers from the input data.
+   *
+   * @param count the number of integers to read
+   * @return an array of decoded 1-byte integers
+   * @throws IllegalArgumentException if the count is negative
+   */
+  public int[] getChars(int count) {
+    return readNumbers(count, 1);
+  }
+
+  /**
+   * Reads an array of encoded 2-byte integers from the input data.
+   *
+   * @param count the number of integers to read
+   * @return an array of decoded 2-byte integers
+   * @throws IllegalArgumentException if the count is negative
+   */
+  public int[] getShorts(int count) {
+    return readNumbers(count, 2);
+  }
+
+  /**
+   * Reads an array of encoded 3-byte integers from the input data.
+   *
+   * @param count the number of integers to read
+   * @return an array of decoded 3-byte integers
+   * @throws IllegalArgumentException if the count is negative
+   */
+  public int[] getThrees(int count) {
+    return readNumbers(count, 3);
+  }
+
+  /**
+   * Reads an array of encoded 4-byte integers from the input data.
+   *
+   * @param count the number of integers to read
+   * @return an array of decoded 4-byte integers
+   * @throws IllegalArgumentException if the count is negative
+   */
+  public int[] getInts(int count) {
+    return readNumbers(count, 4);
   }
 
   /**
@@ -168,8 +438,7 @@ public final class EoReader {
    * @return a string
    */
   public String getString() {
-    byte[] bytes = readBytes(getRemaining());
-    return new String(bytes, Charset.forName("windows-1252"));
+    return readString(getRemaining(), false);
   }
 
   /**
@@ -195,11 +464,7 @@ public final class EoReader {
     if (length < 0) {
       throw new IllegalArgumentException("Negative length");
     }
-    byte[] bytes = readBytes(length);
-    if (padded) {
-      bytes = removePadding(bytes);
-    }
-    return new String(bytes, Charset.forName("windows-1252"));
+    return readString(length, padded);
   }
 
   /**
@@ -208,9 +473,7 @@ public final class EoReader {
    * @return a decoded string
    */
   public String getEncodedString() {
-    byte[] bytes = readBytes(getRemaining());
-    StringEncodingUtils.decodeString(bytes);
-    return new String(bytes, Charset.forName("windows-1252"));
+    return readEncodedString(getRemaining(), false);
   }
 
   /**
@@ -236,12 +499,196 @@ public final class EoReader {
     if (length < 0) {
       throw new IllegalArgumentException("Negative length");
     }
-    byte[] bytes = readBytes(length);
-    StringEncodingUtils.decodeString(bytes);
-    if (padded) {
-      bytes = removePadding(bytes);
+    return readEncodedString(length, padded);
+  }
+
+  /**
+   * Reads a string from the input data.
+   *
+   * <p>In lazy string mode, the string is returned as a {@link LazyString} that will be decoded on
+   * first access. Otherwise, it is decoded immediately and returned as a {@link String}.
+   *
+   * @return a string
+   * @see EoReader#setLazyStringMode
+   */
+  public CharSequence getCharSequence() {
+    return readCharSequence(getRemaining(), false);
+  }
+
+  /**
+   * Reads a string with a fixed length from the input data.
+   *
+   * <p>In lazy string mode, the string is returned as a {@link LazyString} that will be decoded on
+   * first access. Otherwise, it is decoded immediately and returned as a {@link String}.
+   *
+   * @param length the length of the string
+   * @return a string
+   * @throws IllegalArgumentException if the length is negative
+   * @see EoReader#setLazyStringMode
+   */
+  public CharSequence getFixedCharSequence(int length) {
+    return getFixedCharSequence(length, false);
+  }
+
+  /**
+   * Reads a string with a fixed length from the input data.
+   *
+   * <p>In lazy string mode, the string is returned as a {@link LazyString} that will be decoded on
+   * first access. Otherwise, it is decoded immediately and returned as a {@link String}.
+   *
+   * @param length the length of the string
+   * @param padded true if the string is padded with trailing {@code 0xFF} bytes
+   * @return a string
+   * @throws IllegalArgumentException if the length is negative
+   * @see EoReader#setLazyStringMode
+   */
+  public CharSequence getFixedCharSequence(int length, boolean padded) {
+    if (length < 0) {
+      throw new IllegalArgumentException("Negative length");
+    }
+    return readCharSequence(length, padded);
+  }
+
+  /**
+   * Reads an encoded string from the input data.
+   *
+   * <p>In lazy string mode, the string is returned as a {@link LazyString} that will be decoded on
+   * first access. Otherwise, it is decoded immediately and returned as a {@link String}.
+   *
+   * @return a decoded string
+   * @see EoReader#setLazyStringMode
+   */
+  public CharSequence getEncodedCharSequence() {
+    return readEncodedCharSequence(getRemaining(), false);
+  }
+
+  /**
+   * Reads an encoded string with a fixed length from the input data.
+   *
+   * <p>In lazy string mode, the string is returned as a {@link LazyString} that will be decoded on
+   * first access. Otherwise, it is decoded immediately and returned as a {@link String}.
+   *
+   * @param length the length of the string
+   * @return a decoded string
+   * @throws IllegalArgumentException if the length is negative
+   * @see EoReader#setLazyStringMode
+   */
+  public CharSequence getFixedEncodedCharSequence(int length) {
+    return getFixedEncodedCharSequence(length, false);
+  }
+
+  /**
+   * Reads an encoded string with a fixed length from the input data.
+   *
+   * <p>In lazy string mode, the string is returned as a {@link LazyString} that will be decoded on
+   * first access. Otherwise, it is decoded immediately and returned as a {@link String}.
+   *
+   * @param length the length of the string
+   * @param padded true if the string is padded with trailing {@code 0xFF} bytes
+   * @return a decoded string
+   * @throws IllegalArgumentException if the length is negative
+   * @see EoReader#setLazyStringMode
+   */
+  public CharSequence getFixedEncodedCharSequence(int length, boolean padded) {
+    if (length < 0) {
+      throw new IllegalArgumentException("Negative length");
+    }
+    return readEncodedCharSequence(length, padded);
+  }
+
+  /**
+   * Advances the reader position past raw bytes in the input data, without reading them.
+   *
+   * <p>Consistent with the read methods, the reader position will not be advanced beyond the end of
+   * the input data, or the end of the current chunk in chunked reading mode.
+   *
+   * @param length the number of bytes to skip
+   * @throws IllegalArgumentException if the length is negative
+   */
+  public void skip(int length) {
+    if (length < 0) {
+      throw new IllegalArgumentException("Negative length");
     }
-    return new String(bytes, Charset.forName("windows-1252"));
+    position += Math.min(length, getRemaining());
+  }
+
+  /** Advances the reader position past an encoded 1-byte integer, without decoding it. */
+  public void skipChar() {
+    skip(1);
+  }
+
+  /** Advances the reader position past an encoded 2-byte integer, without decoding it. */
+  public void skipShort() {
+    skip(2);
+  }
+
+  /** Advances the reader position past an encoded 3-byte integer, without decoding it. */
+  public void skipThree() {
+    skip(3);
+  }
+
+  /** Advances the reader position past an encoded 4-byte integer, without decoding it. */
+  public void skipInt() {
+    skip(4);
+  }
+
+  /**
+   * Advances the reader position past a string, without decoding it.
+   *
+   * <p>Like {@link EoReader#getString}, this skips the remaining input data, or the remainder of
+   * the current chunk in chunked reading mode.
+   */
+  public void skipString() {
+    skip(getRemaining());
+  }
+
+  /**
+   * Sets the lazy string mode for the reader.
+   *
+   * <p>In lazy string mode, the {@code CharSequence} methods (such as {@link
+   * EoReader#getCharSequence}) return {@link LazyString} instances, which defer decoding until the
+   * string is first accessed. This saves work when many of the strings that are read are never
+   * used, such as when routing packets.
+   *
+   * <p>A {@code LazyString} refers to the input data until it is decoded, so the input data must
+   * not be modified or reused in the meantime. Lazy string mode is preserved by {@link
+   * EoReader#reset} and is inherited by slices.
+   *
+   * @param lazyStringMode the new lazy string mode
+   */
+  public void setLazyStringMode(boolean lazyStringMode) {
+    this.lazyStringMode = lazyStringMode;
+  }
+
+  /**
+   * Gets the lazy string mode for the reader.
+   *
+   * @return true if the reader is in lazy string mode
+   */
+  public boolean getLazyStringMode() {
+    return lazyStringMode;
+  }
+
+  /**
+   * Sets the string cache for the reader.
+   *
+   * <p>With a string cache, strings that have been read before are returned from the cache instead
+   * of being decoded again. Strings returned as a {@link LazyString} in lazy string mode do not use
+   * the cache. The string cache is preserved by {@link EoReader#reset} and is inherited by slices.
+   *
+   * @param stringCache the new string cache, or null to disable caching
+   */
+  public void setStringCache(StringCache stringCache) {
+    this.stringCache = stringCache;
+  }
+
+  /**
+   * Gets the string cache for the reader.
+   *
+   * @return the string cache, or null if the reader has no string cache
+   */
+  public StringCache getStringCache() {
+    return stringCache;
   }
 
   /**
@@ -289,23 +736,54 @@ public final class EoReader {
   /**
    * Moves the reader position to the start of the next chunk in the input data.
    *
-   * @throws IllegalStateException if not in chunked reading mode
+   * @throws IllegalStateException if not in chunked reading mode, or if this is a streaming reader
+   *     and the start of the next chunk is before the data it has retained
    */
   public void nextChunk() {
     if (!chunkedReadingMode) {
       throw new IllegalStateException("Not in chunked reading mode.");
     }
 
-    position = nextBreak;
-    if (position < limit) {
+    int nextChunkStart = nextBreak;
+    if (nextChunkStart < limit) {
       // Skip the break byte
-      ++position;
+      ++nextChunkStart;
+    }
+
+    if (channel != null && nextChunkStart < -offset) {
+      throw new IllegalStateException("Streaming reader cannot move back to discarded data.");
     }
 
+    position = nextChunkStart;
+
     chunkStart = position;
     nextBreak = findNextBreakIndex();
   }
 
+  /**
+   * Scans the input data once and caches the positions of all break bytes ({@code 0xFF}).
+   *
+   * <p>Without a cache, the reader scans forward for the next break byte each time it moves to a
+   * new chunk or reads a padded string. With the cache, moving to the next chunk is a constant-time
+   * operation, which benefits large chunked data structures and delimited arrays.
+   *
+   * <p>The cache is not shared with readers created by {@link EoReader#slice}.
+   *
+   * @throws UnsupportedOperationException if this is a streaming reader
+   */
+  public void cacheBreakPositions() {
+    if (channel != null) {
+      throw new UnsupportedOperationException("Streaming readers cannot cache break positions.");
+    }
+
+    int[] positions = BreakScanner.indicesOfBreaks(scanBuffer(), offset, offset + limit);
+    for (int i = 0; i < positions.length; ++i) {
+      positions[i] -= offset;
+    }
+    breakPositions = positions;
+    breakCursor = 0;
+  }
+
   /**
    * Gets the current position in the input data.
    *
@@ -316,41 +794,338 @@ public final class EoReader {
   }
 
   private byte readByte() {
-    if (getRemaining() > 0) {
-      return data[offset + position++];
+    if (available(1) > 0) {
+      return byteAt(position++);
+    }
+    return 0;
+  }
+
+  private int readNumber(int length) {
+    length = available(length);
+
+    int result;
+    if (array != null) {
+      result = NumberEncodingUtils.decodeNumber(array, offset + position, length);
+    } else {
+      result = NumberEncodingUtils.decodeNumber(buffer, offset + position, length);
+    }
+
+    position += length;
+
+    return result;
+  }
+
+  private int[] readNumbers(int count, int size) {
+    if (count < 0) {
+      throw new IllegalArgumentException("Negative count");
+    }
+
+    int[] result = new int[count];
+
+    // Numbers that are fully within the remaining data are decoded in a single pass. Any others
+    // are over-reads, which are handled one at a time with the usual semantics.
+    int fullCount = Math.min(count, getRemaining() / size);
+    fullCount = available(fullCount * size) / size;
+    int index = offset + position;
+    if (array != null) {
+      for (int i = 0; i < fullCount; ++i, index += size) {
+        result[i] = NumberEncodingUtils.decodeNumber(array, index, size);
+      }
+    } else {
+      for (int i = 0; i < fullCount; ++i, index += size) {
+        result[i] = NumberEncodingUtils.decodeNumber(buffer, index, size);
+      }
+    }
+
+    position += fullCount * size;
+
+    for (int i = fullCount; i < count; ++i) {
+      result[i] = readNumber(size);
+    }
+
+    return result;
+  }
+
+  private String readString(int length, boolean padded) {
+    length = available(length);
+
+    int index = offset + position;
+    int stringLength = getStringLength(length, padded);
+
+    String result;
+    if (stringCache != null) {
+      result = stringCache.get(array, buffer, index, stringLength);
+    } else {
+      result = decodeString(array, buffer, index, stringLength);
+    }
+
+    position += length;
+
+    return result;
+  }
+
+  private CharSequence readCharSequence(int length, boolean padded) {
+    if (!lazyStringMode || channel != null) {
+      return readString(length, padded);
+    }
+
+    length = available(length);
+
+    LazyString result =
+        LazyString.of(array, buffer, offset + position, getStringLength(length, padded));
+
+    position += length;
+
+    return result;
+  }
+
+  private String readEncodedString(int length, boolean padded) {
+    length = available(length);
+
+    int index = offset + position;
+    int start = getEncodedStringStart(length, padded);
+
+    String result;
+    if (stringCache != null) {
+      result = stringCache.getEncoded(array, buffer, index, length, start);
+    } else {
+      result = decodeEncodedString(array, buffer, index, length, start);
+    }
+
+    position += length;
+
+    return result;
+  }
+
+  private CharSequence readEncodedCharSequence(int length, boolean padded) {
+    if (!lazyStringMode || channel != null) {
+      return readEncodedString(length, padded);
+    }
+
+    length = available(length);
+
+    LazyString result =
+        LazyString.ofEncoded(
+            array, buffer, offset + position, length, getEncodedStringStart(length, padded));
+
+    position += length;
+
+    return result;
+  }
+
+  private int getStringLength(int length, boolean padded) {
+    if (padded) {
+      return findBreakIndex(position, position + length) - position;
+    }
+    return length;
+  }
+
+  private int getEncodedStringStart(int length, boolean padded) {
+    // Decoding reverses the string, so trailing padding in the decoded string is leading padding
+    // in the input data.
+    if (padded) {
+      return findLastBreakIndex(position, position + length) + 1 - position;
     }
     return 0;
   }
 
+  static String decodeString(byte[] array, ByteBuffer buffer, int index, int length) {
+    if (array != null) {
+      return Windows1252.decode(array, index, length);
+    }
+    return Windows1252.decode(buffer, index, length);
+  }
+
+  static String decodeEncodedString(
+      byte[] array, ByteBuffer buffer, int index, int length, int start) {
+    // The input byte at relative index i maps to the decoded character at (length - 1 - i), and is
+    // "flippy" when i is even. Bytes before start are padding.
+    char[] chars = new char[length - start];
+    for (int i = start; i < length; ++i) {
+      byte b = array != null ? array[index + i] : buffer.get(index + i);
+      b = StringEncodingUtils.invertCharacter(b, i % 2 == 0);
+      chars[length - 1 - i] = Windows1252.decode(b);
+    }
+    return new String(chars);
+  }
+
   private byte[] readBytes(int length) {
-    length = Math.min(length, getRemaining());
+    length = available(length);
 
     byte[] result = new byte[length];
-    System.arraycopy(data, offset + position, result, 0, length);
+    if (array != null) {
+      System.arraycopy(array, offset + position, result, 0, length);
+    } else {
+      for (int i = 0; i < length; ++i) {
+        result[i] = buffer.get(offset + position + i);
+      }
+    }
 
     position += length;
 
     return result;
   }
 
-  private static byte[] removePadding(byte[] bytes) {
-    for (int i = 0; i < bytes.length; ++i) {
-      if (bytes[i] == (byte) 0xFF) {
-        byte[] result = new byte[i];
-        System.arraycopy(bytes, 0, result, 0, i);
-        return result;
-      }
+  private int available(int length) {
+    length = Math.min(length, getRemaining());
+    if (channel != null && position + length > windowEnd) {
+      fill(position + length);
+      // The stream may have ended early.
+      length = Math.min(length, getRemaining());
     }
-    return bytes;
+    return length;
+  }
+
+  private byte byteAt(int index) {
+    if (array != null) {
+      return array[offset + index];
+    }
+    return buffer.get(offset + index);
   }
 
   private int findNextBreakIndex() {
-    int i;
-    for (i = chunkStart; i < limit; ++i) {
-      if (data[offset + i] == (byte) 0xFF) {
-        break;
+    return findBreakIndex(chunkStart, limit);
+  }
+
+  private int findBreakIndex(int from, int to) {
+    if (breakPositions != null) {
+      return findCachedBreakIndex(from, to);
+    }
+    if (channel != null) {
+      return findStreamBreakIndex(from, to);
+    }
+    return BreakScanner.indexOfBreak(scanBuffer(), offset + from, offset + to) - offset;
+  }
+
+  private int findLastBreakIndex(int from, int to) {
+    if (breakPositions != null) {
+      return findLastCachedBreakIndex(from, to);
+    }
+    return BreakScanner.lastIndexOfBreak(scanBuffer(), offset + from, offset + to) - offset;
+  }
+
+  private int findCachedBreakIndex(int from, int to) {
+    // Chunk navigation always searches from just past the previously found break, so checking the
+    // cursor and its successor avoids a binary search in the common case.
+    int i = breakCursor;
+    if (!isFirstCachedBreakFrom(i, from)) {
+      i = isFirstCachedBreakFrom(i + 1, from) ? i + 1 : searchCachedBreaks(from);
+    }
+
+    breakCursor = i;
+
+    if (i < breakPositions.length && breakPositions[i] < to) {
+      return breakPositions[i];
+    }
+    return to;
+  }
+
+  private int findLastCachedBreakIndex(int from, int to) {
+    int i = searchCachedBreaks(to) - 1;
+    if (i >= 0 && breakPositions[i] >= from) {
+      return breakPositions[i];
+    }
+    return from - 1;
+  }
+
+  private boolean isFirstCachedBreakFrom(int i, int from) {
+    return i <= breakPositions.length
+        && (i == breakPositions.length || breakPositions[i] >= from)
+        && (i == 0 || breakPositions[i - 1] < from);
+  }
+
+  private int searchCachedBreaks(int from) {
+    int i = Arrays.binarySearch(breakPositions, from);
+    return i < 0 ? -i - 1 : i;
+  }
+
+  private int findStreamBreakIndex(int from, int to) {
+    while (true) {
+      if (from < -offset) {
+        // Only the first search from the start of the input data can begin before the window, and
+        // the first break in the discarded data is recorded for it. See compact.
+        if (discardedBreak != -1) {
+          return Math.min(discardedBreak, to);
+        }
+        from = -offset;
       }
+
+      to = Math.min(to, limit);
+      int end = Math.min(to, windowEnd);
+      if (from < end) {
+        int index = BreakScanner.indexOfBreak(scanBuffer(), offset + from, offset + end) - offset;
+        if (index < end) {
+          return index;
+        }
+        from = end;
+      }
+
+      if (from >= to) {
+        return to;
+      }
+
+      fill(from + 1);
+    }
+  }
+
+  private void fill(int end) {
+    end = Math.min(end, limit);
+    while (windowEnd < end) {
+      if (offset + windowEnd == array.length) {
+        compact();
+      }
+
+      int index = offset + windowEnd;
+      int count = Math.min(array.length - index, limit - windowEnd);
+      int read;
+      try {
+        read = channel.read(ByteBuffer.wrap(array, index, count));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+
+      if (read < 0) {
+        // The stream ended early, so the input data ends here.
+        limit = windowEnd;
+        position = Math.min(position, limit);
+        chunkStart = Math.min(chunkStart, limit);
+        if (nextBreak != -1) {
+          nextBreak = Math.min(nextBreak, limit);
+        }
+        return;
+      }
+
+      windowEnd += read;
+    }
+  }
+
+  private void compact() {
+    int windowStart = -offset;
+    int keep = Math.min(position, windowEnd);
+
+    // Before the first break has been found, the initial search for it starts from the beginning of
+    // the input data, which may be about to be discarded.
+    if (nextBreak == -1 && discardedBreak == -1) {
+      int index = BreakScanner.indexOfBreak(scanBuffer(), 0, keep - windowStart);
+      if (index < keep - windowStart) {
+        discardedBreak = windowStart + index;
+      }
+    }
+
+    if (keep == windowStart) {
+      array = Arrays.copyOf(array, array.length * 2);
+      buffer = null;
+      return;
+    }
+
+    System.arraycopy(array, keep - windowStart, array, 0, windowEnd - keep);
+    offset = -keep;
+  }
+
+  private ByteBuffer scanBuffer() {
+    if (buffer == null) {
+      buffer = ByteBuffer.wrap(array).order(ByteOrder.nativeOrder());
     }
-    return i;
+    return buffer;
   }
 }
@@ -1,12 +1,199 @@
 package dev.cirras.data;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
-/** A class for writing EO data to a sequence of bytes. */
+/**
+ * A class for writing EO data to a sequence of bytes.
+ *
+ * <p>By default, the writer data is stored in a growable byte array. Alternatively, it can be
+ * written directly into a {@link ByteBuffer} supplied by the caller, such as a direct buffer that
+ * will be handed to a channel, or into a series of fixed-size segments (see {@link
+ * EoWriter#segmented}). A streaming writer flushes the writer data to a stream or channel as it
+ * goes.
+ */
 public final class EoWriter {
-  private byte[] data = new byte[16];
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final int DEFAULT_STREAM_BUFFER_SIZE = 8192;
+
+  private byte[] data;
+  private ByteBuffer buffer;
+  private ByteBuffer cursor;
+  private BufferAllocator allocator;
+  private WritableByteChannel channel;
+  private List<Segment> segments;
+  private int segmentSize;
+  private int bufferOffset;
+  private byte[] scratch;
+  private int start;
+  private int capacity;
   private int length = 0;
   private boolean stringSanitizationMode = false;
+  private boolean trustedMode = false;
+
+  /** Creates a new {@code EoWriter} instance that writes to a growable byte array. */
+  public EoWriter() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates a new {@code EoWriter} instance that writes to a growable byte array, with the
+   * specified initial capacity.
+   *
+   * <p>An initial capacity that fits the expected length of the writer data avoids growing the
+   * array while writing.
+   *
+   * @param initialCapacity the initial capacity of the byte array
+   * @throws IllegalArgumentException if the initial capacity is negative
+   */
+  public EoWriter(int initialCapacity) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Negative initial capacity");
+    }
+    this.data = new byte[initialCapacity];
+    this.capacity = initialCapacity;
+  }
+
+  /**
+   * Creates a new {@code EoWriter} instance that writes to the specified buffer.
+   *
+   * <p>If the writer data outgrows the buffer, a new buffer of the same kind (heap or direct) will
+   * be allocated.
+   *
+   * @param buffer the buffer to write to
+   * @throws IllegalArgumentException if the buffer is read-only
+   * @see EoWriter#EoWriter(ByteBuffer, BufferAllocator)
+   */
+  public EoWriter(ByteBuffer buffer) {
+    this(buffer, buffer.isDirect() ? BufferAllocator.DIRECT : BufferAllocator.HEAP);
+  }
+
+  /**
+   * Creates a new {@code EoWriter} instance that writes to the specified buffer.
+   *
+   * <p>The writer data will be written starting at the buffer's position, and may fill it up to its
+   * limit. The position and limit of the buffer are not modified.
+   *
+   * <p>If the writer data outgrows the buffer, a new buffer will be requested from {@code
+   * allocator}. The writer data is copied into the new buffer, and the previous buffer is passed to
+   * {@link BufferAllocator#release}. {@link EoWriter#getBuffer} returns the current buffer.
+   *
+   * @param buffer the buffer to write to
+   * @param allocator the allocator to request a new buffer from when the buffer is full
+   * @throws IllegalArgumentException if the buffer is read-only
+   */
+  public EoWriter(ByteBuffer buffer, BufferAllocator allocator) {
+    this.allocator = allocator;
+    setBuffer(buffer);
+  }
+
+  /**
+   * Creates a new streaming {@code EoWriter} instance for the specified output stream.
+   *
+   * @param output the output stream to write to
+   * @see EoWriter#EoWriter(WritableByteChannel, int)
+   */
+  public EoWriter(OutputStream output) {
+    this(Channels.newChannel(output));
+  }
+
+  /**
+   * Creates a new streaming {@code EoWriter} instance for the specified channel.
+   *
+   * @param channel the channel to write to
+   * @see EoWriter#EoWriter(WritableByteChannel, int)
+   */
+  public EoWriter(WritableByteChannel channel) {
+    this(channel, DEFAULT_STREAM_BUFFER_SIZE);
+  }
+
+  /**
+   * Creates a new streaming {@code EoWriter} instance for the specified channel.
+   *
+   * <p>The writer holds the most recent writer data in a buffer of {@code bufferSize} bytes, and
+   * flushes it to the channel when the buffer is full. Large byte arrays are written straight to
+   * the channel. The buffer only grows if a single value is larger than the buffer. This allows
+   * large data such as map files to be serialized without holding all of it in memory.
+   *
+   * <p>A streaming writer supports the same write operations as any other writer, with some
+   * exceptions:
+   *
+   * <ul>
+   *   <li>{@link EoWriter#toByteArray}, {@link EoWriter#getBuffers} and {@link EoWriter#writeTo}
+   *       are not supported.
+   *   <li>The {@code set} methods can only overwrite data that has not been flushed yet.
+   *   <li>{@link EoWriter#reset} discards any data that has not been flushed yet.
+   * </ul>
+   *
+   * <p>{@link EoWriter#flush} must be called once all of the data has been written. An {@link
+   * IOException} thrown by the channel is rethrown as an {@link UncheckedIOException}. The channel
+   * is not closed by the writer.
+   *
+   * @param channel the channel to write to
+   * @param bufferSize the initial size of the buffer
+   * @throws IllegalArgumentException if the buffer size is not positive
+   */
+  public EoWriter(WritableByteChannel channel, int bufferSize) {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("Buffer size must be positive");
+    }
+    setBuffer(ByteBuffer.allocate(bufferSize));
+    this.channel = channel;
+  }
+
+  /**
+   * Creates a new segmented {@code EoWriter} instance, which writes to heap buffers of the
+   * specified size.
+   *
+   * @param segmentSize the size of each segment
+   * @return a new segmented writer
+   * @throws IllegalArgumentException if the segment size is not positive
+   * @see EoWriter#segmented(int, BufferAllocator)
+   */
+  public static EoWriter segmented(int segmentSize) {
+    return segmented(segmentSize, BufferAllocator.HEAP);
+  }
+
+  /**
+   * Creates a new segmented {@code EoWriter} instance, which writes to a series of buffers
+   * requested from {@code allocator}.
+   *
+   * <p>When the current segment is full, a new segment of {@code segmentSize} bytes is requested
+   * and writing continues there. Unlike a writer that writes to a single array or buffer, the
+   * writer data is never copied as it grows, which suits very large data such as map files. A
+   * single value that does not fit in the rest of the current segment starts a new segment, which
+   * is larger than {@code segmentSize} if the value needs it. Raw bytes are split across segments
+   * instead.
+   *
+   * <p>The writer data can be flushed to a channel with a single gathering write using {@link
+   * EoWriter#writeTo}, or accessed with {@link EoWriter#getBuffers}. Segments are kept until the
+   * writer is {@link EoWriter#reset}, at which point every segment but the first is passed to
+   * {@link BufferAllocator#release}. Combined with {@link BufferAllocator#pooled}, this allows
+   * segments to be reused by any number of writers.
+   *
+   * @param segmentSize the size of each segment
+   * @param allocator the allocator to request segments from
+   * @return a new segmented writer
+   * @throws IllegalArgumentException if the segment size is not positive
+   */
+  public static EoWriter segmented(int segmentSize, BufferAllocator allocator) {
+    if (segmentSize <= 0) {
+      throw new IllegalArgumentException("Segment size must be positive");
+    }
+    EoWriter writer = new EoWriter(allocate(allocator, segmentSize), allocator);
+    writer.segments = new ArrayList<>();
+    writer.segmentSize = segmentSize;
+    return writer;
+  }
 
   /**
    * Adds a raw byte to the writer data.
@@ -16,10 +203,9 @@ public final class EoWriter {
    */
   public void addByte(int value) {
     checkNumberSize(value, 0xFF);
-    if (length + 1 > data.length) {
-      expand(2);
-    }
-    data[length++] = (byte) value;
+    reserve(1);
+    putByte(start + length, (byte) value);
+    ++length;
   }
 
   /**
@@ -39,8 +225,8 @@ public final class EoWriter {
    */
   public void addChar(int number) {
     checkNumberSize(number, EoNumericLimits.CHAR_MAX - 1);
-    byte[] bytes = NumberEncodingUtils.encodeNumber(number);
-    addBytes(bytes, 1);
+    reserve(1);
+    addNumber(number, 1);
   }
 
   /**
@@ -51,8 +237,8 @@ public final class EoWriter {
    */
   public void addShort(int number) {
     checkNumberSize(number, EoNumericLimits.SHORT_MAX - 1);
-    byte[] bytes = NumberEncodingUtils.encodeNumber(number);
-    addBytes(bytes, 2);
+    reserve(2);
+    addNumber(number, 2);
   }
 
   /**
@@ -63,8 +249,8 @@ public final class EoWriter {
    */
   public void addThree(int number) {
     checkNumberSize(number, EoNumericLimits.THREE_MAX - 1);
-    byte[] bytes = NumberEncodingUtils.encodeNumber(number);
-    addBytes(bytes, 3);
+    reserve(3);
+    addNumber(number, 3);
   }
 
   /**
@@ -75,8 +261,88 @@ public final class EoWriter {
    */
   public void addInt(int number) {
     checkNumberSize(number, EoNumericLimits.INT_MAX - 1);
-    byte[] bytes = NumberEncodingUtils.encodeNumber(number);
-    addBytes(bytes, 4);
+    reserve(4);
+    addNumber(number, 4);
+  }
+
+  /**
+   * Adds an array of encoded 1-byte integers to the writer data.
+   *
+   * @param numbers the numbers to encode and add
+   * @throws IllegalArgumentException if any value is not below {@link EoNumericLimits#CHAR_MAX}.
+   */
+  public void addChars(int[] numbers) {
+    addNumbers(numbers, EoNumericLimits.CHAR_MAX - 1, 1);
+  }
+
+  /**
+   * Adds a list of encoded 1-byte integers to the writer data.
+   *
+   * @param numbers the numbers to encode and add
+   * @throws IllegalArgumentException if any value is not below {@link EoNumericLimits#CHAR_MAX}.
+   */
+  public void addChars(List<Integer> numbers) {
+    addNumbers(numbers, EoNumericLimits.CHAR_MAX - 1, 1);
+  }
+
+  /**
+   * Adds an array of encoded 2-byte integers to the writer data.
+   *
+   * @param numbers the numbers to encode and add
+   * @throws IllegalArgumentException if any value is not below {@link EoNumericLimits#SHORT_MAX}.
+   */
+  public void addShorts(int[] numbers) {
+    addNumbers(numbers, EoNumericLimits.SHORT_MAX - 1, 2);
+  }
+
+  /**
+   * Adds a list of encoded 2-byte integers to the writer data.
+   *
+   * @param numbers the numbers to encode and add
+   * @throws IllegalArgumentException if any value is not below {@link EoNumericLimits#SHORT_MAX}.
+   */
+  public void addShorts(List<Integer> numbers) {
+    addNumbers(numbers, EoNumericLimits.SHORT_MAX - 1, 2);
+  }
+
+  /**
+   * Adds an array of encoded 3-byte integers to the writer data.
+   *
+   * @param numbers the numbers to encode and add
+   * @throws IllegalArgumentException if any value is not below {@link EoNumericLimits#THREE_MAX}.
+   */
+  public void addThrees(int[] numbers) {
+    addNumbers(numbers, EoNumericLimits.THREE_MAX - 1, 3);
+  }
+
+  /**
+   * Adds a list of encoded 3-byte integers to the writer data.
+   *
+   * @param numbers the numbers to encode and add
+   * @throws IllegalArgumentException if any value is not below {@link EoNumericLimits#THREE_MAX}.
+   */
+  public void addThrees(List<Integer> numbers) {
+    addNumbers(numbers, EoNumericLimits.THREE_MAX - 1, 3);
+  }
+
+  /**
+   * Adds an array of encoded 4-byte integers to the writer data.
+   *
+   * @param numbers the numbers to encode and add
+   * @throws IllegalArgumentException if any value is not below {@link EoNumericLimits#INT_MAX}.
+   */
+  public void addInts(int[] numbers) {
+    addNumbers(numbers, EoNumericLimits.INT_MAX - 1, 4);
+  }
+
+  /**
+   * Adds a list of encoded 4-byte integers to the writer data.
+   *
+   * @param numbers the numbers to encode and add
+   * @throws IllegalArgumentException if any value is not below {@link EoNumericLimits#INT_MAX}.
+   */
+  public void addInts(List<Integer> numbers) {
+    addNumbers(numbers, EoNumericLimits.INT_MAX - 1, 4);
   }
 
   /**
@@ -85,9 +351,16 @@ public final class EoWriter {
    * @param string the string to be added
    */
   public void addString(String string) {
-    byte[] bytes = string.getBytes(Charset.forName("windows-1252"));
-    sanitizeString(bytes);
-    addBytes(bytes);
+    addString((CharSequence) string);
+  }
+
+  /**
+   * Adds a string to the writer data.
+   *
+   * @param string the string to be added
+   */
+  public void addString(CharSequence string) {
+    addStringBytes(string, string.length(), false, false);
   }
 
   /**
@@ -98,6 +371,17 @@ public final class EoWriter {
    * @throws IllegalArgumentException if the string does not have the expected length
    */
   public void addFixedString(String string, int length) {
+    addFixedString((CharSequence) string, length);
+  }
+
+  /**
+   * Adds a fixed-length string to the writer data.
+   *
+   * @param string the string to be added
+   * @param length the expected length of the string
+   * @throws IllegalArgumentException if the string does not have the expected length
+   */
+  public void addFixedString(CharSequence string, int length) {
     addFixedString(string, length, false);
   }
 
@@ -111,13 +395,21 @@ public final class EoWriter {
    * @throws IllegalArgumentException if the string does not have the expected length
    */
   public void addFixedString(String string, int length, boolean padded) {
+    addFixedString((CharSequence) string, length, padded);
+  }
+
+  /**
+   * Adds a fixed-length string to the writer data.
+   *
+   * @param string the string to be added
+   * @param length the expected length of the string
+   * @param padded true if the string should be padded to the length with trailing {@code 0xFF}
+   *     bytes.
+   * @throws IllegalArgumentException if the string does not have the expected length
+   */
+  public void addFixedString(CharSequence string, int length, boolean padded) {
     checkStringLength(string, length, padded);
-    byte[] bytes = string.getBytes(Charset.forName("windows-1252"));
-    sanitizeString(bytes);
-    if (padded) {
-      bytes = addPadding(bytes, length);
-    }
-    addBytes(bytes);
+    addStringBytes(string, length, padded, false);
   }
 
   /**
@@ -126,10 +418,16 @@ public final class EoWriter {
    * @param string the string to be encoded and added
    */
   public void addEncodedString(String string) {
-    byte[] bytes = string.getBytes(Charset.forName("windows-1252"));
-    sanitizeString(bytes);
-    StringEncodingUtils.encodeString(bytes);
-    addBytes(bytes);
+    addEncodedString((CharSequence) string);
+  }
+
+  /**
+   * Adds an encoded string to the writer data.
+   *
+   * @param string the string to be encoded and added
+   */
+  public void addEncodedString(CharSequence string) {
+    addStringBytes(string, string.length(), false, true);
   }
 
   /**
@@ -140,6 +438,17 @@ public final class EoWriter {
    * @throws IllegalArgumentException if the string does not have the expected length
    */
   public void addFixedEncodedString(String string, int length) {
+    addFixedEncodedString((CharSequence) string, length);
+  }
+
+  /**
+   * Adds a fixed-length encoded string to the writer data.
+   *
+   * @param string the string to be encoded and added
+   * @param length the expected length of the string
+   * @throws IllegalArgumentException if the string does not have the expected length
+   */
+  public void addFixedEncodedString(CharSequence string, int length) {
     addFixedEncodedString(string, length, false);
   }
 
@@ -153,14 +462,121 @@ public final class EoWriter {
    * @throws IllegalArgumentException if the string does not have the expected length
    */
   public void addFixedEncodedString(String string, int length, boolean padded) {
+    addFixedEncodedString((CharSequence) string, length, padded);
+  }
+
+  /**
+   * Adds a fixed-length encoded string to the writer data.
+   *
+   * @param string the string to be encoded and added
+   * @param length the expected length of the string
+   * @param padded true if the string should be padded to the length with trailing {@code 0xFF}
+   *     bytes
+   * @throws IllegalArgumentException if the string does not have the expected length
+   */
+  public void addFixedEncodedString(CharSequence string, int length, boolean padded) {
     checkStringLength(string, length, padded);
-    byte[] bytes = string.getBytes(Charset.forName("windows-1252"));
-    sanitizeString(bytes);
-    if (padded) {
-      bytes = addPadding(bytes, length);
+    addStringBytes(string, length, padded, true);
+  }
+
+  /**
+   * Adds a placeholder of zero bytes to the writer data.
+   *
+   * <p>This reserves space for values that are only known once the rest of the data has been
+   * written, such as the length of a packet, and can be filled in later with the {@code set}
+   * methods. The placeholder is never split across segments.
+   *
+   * @param length the length of the placeholder
+   * @throws IllegalArgumentException if the length is negative
+   */
+  public void addPlaceholder(int length) {
+    if (length < 0) {
+      throw new IllegalArgumentException("Negative length");
     }
-    StringEncodingUtils.encodeString(bytes);
-    addBytes(bytes);
+    reserve(length);
+    if (data != null) {
+      Arrays.fill(data, start + this.length, start + this.length + length, (byte) 0);
+    } else {
+      for (int i = 0; i < length; ++i) {
+        putByte(start + this.length + i, (byte) 0);
+      }
+    }
+    this.length += length;
+  }
+
+  /**
+   * Overwrites a raw byte in the writer data.
+   *
+   * @param index the index of the byte in the writer data
+   * @param value the byte to set
+   * @throws IndexOutOfBoundsException if the index is negative, or not less than the length of the
+   *     writer data
+   * @throws IllegalArgumentException if the value is above {@code 0xFF}.
+   */
+  public void setByte(int index, int value) {
+    checkSetIndex(index, 1);
+    checkNumberSize(value, 0xFF);
+    patchByte(index, (byte) value);
+  }
+
+  /**
+   * Overwrites an encoded 1-byte integer in the writer data.
+   *
+   * @param index the index of the integer in the writer data
+   * @param number the number to encode and set
+   * @throws IndexOutOfBoundsException if the index is negative, or the integer would extend past
+   *     the end of the writer data
+   * @throws IllegalArgumentException if the value is not below {@link EoNumericLimits#CHAR_MAX}.
+   */
+  public void setChar(int index, int number) {
+    checkSetIndex(index, 1);
+    checkNumberSize(number, EoNumericLimits.CHAR_MAX - 1);
+    setNumber(index, number, 1);
+  }
+
+  /**
+   * Overwrites an encoded 2-byte integer in the writer data.
+   *
+   * @param index the index of the integer in the writer data
+   * @param number the number to encode and set
+   * @throws IndexOutOfBoundsException if the index is negative, or the integer would extend past
+   *     the end of the writer data
+   * @throws IllegalArgumentException if the value is not below {@link EoNumericLimits#SHORT_MAX}.
+   */
+  public void setShort(int index, int number) {
+    checkSetIndex(index, 2);
+    checkNumberSize(number, EoNumericLimits.SHORT_MAX - 1);
+    setNumber(index, number, 2);
+  }
+
+  /**
+   * Overwrites an encoded 3-byte integer in the writer data.
+   *
+   * @param index the index of the integer in the writer data
+   * @param number the number to encode and set
+   * @throws IndexOutOfBoundsException if the index is negative, or the integer would extend past
+   *     the end of the writer data
+   * @throws IllegalArgumentException if the value is not below {@link EoNumericLimits#THREE_MAX}.
+   */
+  public void setThree(int index, int number) {
+    checkSetIndex(index, 3);
+    checkNumberSize(number, EoNumericLimits.THREE_MAX - 1);
+    setNumber(index, number, 3);
+  }
+
+  /**
+   * Overwrites an encoded 4-byte integer in the writer data.
+   *
+   * @param index the index of the integer in the writer data
+   * @param number the number to encode and set
+   * @throws IndexOutOfBoundsException if the index is negative, or the integer would extend past
+   *     the end of the writer data
+   * @throws IllegalArgumentException if the value is not below {@link EoNumericLimits#INT_MAX}.
+   */
+  public void setInt(int index, int number) {
+    checkSetIndex(index, 4);
+    checkNumberSize(number, EoNumericLimits.INT_MAX - 1);
+    setNumber(index, number, 4);
   }
 
   /**
@@ -188,6 +604,56 @@ public final class EoWriter {
     return stringSanitizationMode;
   }
 
+  /**
+   * Sets the trusted mode for the writer.
+   *
+   * <p>With trusted mode enabled, the writer skips checking that numbers are within the range of
+   * their type, so values that are already known to be valid can be written without the overhead.
+   * Out-of-range numbers are written as an unspecified value of the expected size rather than
+   * throwing an exception. String lengths are still checked.
+   *
+   * @param trustedMode the new trusted mode
+   */
+  public void setTrustedMode(boolean trustedMode) {
+    this.trustedMode = trustedMode;
+  }
+
+  /**
+   * Gets the trusted mode for the writer.
+   *
+   * @return true if trusted mode is enabled
+   */
+  public boolean getTrustedMode() {
+    return trustedMode;
+  }
+
+  /**
+   * Resets the writer, so that it can be reused to write new data.
+   *
+   * <p>The writer's length will be zero, and its string sanitization and trusted modes will be
+   * false. The byte array or buffer that the writer writes to is kept, along with any capacity it
+   * has grown to. A segmented writer keeps its first segment, and releases the others.
+   */
+  public void reset() {
+    if (segments != null && !segments.isEmpty()) {
+      ByteBuffer first = segments.get(0).buffer;
+      for (int i = 1; i < segments.size(); ++i) {
+        allocator.release(segments.get(i).buffer);
+      }
+      allocator.release(buffer);
+      segments.clear();
+      bufferOffset = 0;
+      setBuffer(first);
+    } else if (bufferOffset != 0) {
+      // A streaming writer discards any data that hasn't been flushed.
+      bufferOffset = 0;
+      setBuffer(buffer);
+    }
+    length = 0;
+    stringSanitizationMode = false;
+    trustedMode = false;
+  }
+
   /**
    * Gets the length of the writer data.
    *
@@ -197,35 +663,415 @@ public final class EoWriter {
     return length;
   }
 
+  /**
+   * Gets the buffer that the writer data is written to.
+   *
+   * <p>The writer data starts at the position that the buffer had when it was supplied to the
+   * writer, and is {@link EoWriter#getLength} bytes long. This may be a different buffer than the
+   * one the writer was created with, if the writer data has outgrown it.
+   *
+   * @return the buffer, or null if the writer writes to a byte array, or is segmented or streaming
+   */
+  public ByteBuffer getBuffer() {
+    return segments == null && channel == null ? buffer : null;
+  }
+
+  /**
+   * Gets the writer data as an array of read-only buffers.
+   *
+   * <p>Each buffer's position and limit are set to the writer data that it contains. A segmented
+   * writer returns a buffer for each segment, and any other writer returns a single buffer. The
+   * buffers share their content with the writer, so they are only valid until the writer is
+   * modified or reset.
+   *
+   * @return the writer data as an array of buffers
+   * @throws UnsupportedOperationException if this is a streaming writer
+   */
+  public ByteBuffer[] getBuffers() {
+    checkNotStreaming();
+    if (segments == null) {
+      ByteBuffer source = data != null ? ByteBuffer.wrap(data) : buffer;
+      return new ByteBuffer[] {view(source, start, length)};
+    }
+
+    ByteBuffer[] result = new ByteBuffer[segments.size() + 1];
+    for (int i = 0; i < segments.size(); ++i) {
+      Segment segment = segments.get(i);
+      result[i] = view(segment.buffer, segment.buffer.position(), segment.length);
+    }
+    result[segments.size()] = view(buffer, buffer.position(), length - bufferOffset);
+    return result;
+  }
+
+  /**
+   * Writes all of the writer data to a channel.
+   *
+   * <p>The data is written with gathering writes, directly from the writer's segments or buffer.
+   * This method does not return until all of the data has been written, so the channel should be in
+   * blocking mode.
+   *
+   * @param channel the channel to write to
+   * @throws IOException if an I/O error occurs
+   * @throws UnsupportedOperationException if this is a streaming writer
+   */
+  public void writeTo(GatheringByteChannel channel) throws IOException {
+    ByteBuffer[] buffers = getBuffers();
+    int index = 0;
+    while (index < buffers.length) {
+      if (buffers[index].hasRemaining()) {
+        channel.write(buffers, index, buffers.length - index);
+      } else {
+        ++index;
+      }
+    }
+  }
+
   /**
    * Gets the writer data as a byte array.
    *
    * @return a copy of the writer data as a byte array
+   * @throws UnsupportedOperationException if this is a streaming writer
    */
   public byte[] toByteArray() {
+    checkNotStreaming();
     byte[] copy = new byte[length];
-    System.arraycopy(data, 0, copy, 0, length);
+    if (segments != null) {
+      ByteBuffer target = ByteBuffer.wrap(copy);
+      for (ByteBuffer segment : getBuffers()) {
+        target.put(segment);
+      }
+    } else if (data != null) {
+      System.arraycopy(data, start, copy, 0, length);
+    } else {
+      cursor.position(start);
+      cursor.get(copy);
+    }
     return copy;
   }
 
+  /**
+   * Flushes the buffered writer data of a streaming writer to its channel.
+   *
+   * <p>This does not flush the underlying stream or channel itself. If this is not a streaming
+   * writer, this method does nothing.
+   *
+   * @throws UncheckedIOException if an I/O error occurs
+   */
+  public void flush() {
+    if (channel == null) {
+      return;
+    }
+
+    int position = buffer.position();
+    ByteBuffer source = buffer.duplicate();
+    source.limit(position + length - bufferOffset).position(position);
+    write(source);
+
+    bufferOffset = length;
+    setBuffer(buffer);
+  }
+
+  int getCapacity() {
+    return capacity;
+  }
+
+  private void setBuffer(ByteBuffer buffer) {
+    if (buffer.isReadOnly()) {
+      throw new IllegalArgumentException("Buffer is read-only");
+    }
+
+    this.buffer = buffer;
+    this.capacity = bufferOffset + buffer.remaining();
+    if (buffer.hasArray()) {
+      this.data = buffer.array();
+      this.start = buffer.arrayOffset() + buffer.position();
+      this.cursor = null;
+    } else {
+      this.data = null;
+      this.start = buffer.position();
+      this.cursor = buffer.duplicate();
+    }
+    // Index the buffer as if it directly followed the writer data before it, so that writer data
+    // at offset "length" is at "start + length" in every mode.
+    this.start -= bufferOffset;
+  }
+
   private void addBytes(byte[] bytes, int bytesLength) {
-    int expandFactor = 1;
-    while (length + bytesLength > data.length * expandFactor) {
-      expandFactor *= 2;
+    if (channel != null && bytesLength > capacity - length) {
+      flush();
+      if (bytesLength > capacity - length) {
+        // Byte arrays that are larger than the buffer are written straight to the channel.
+        write(ByteBuffer.wrap(bytes, 0, bytesLength));
+        length += bytesLength;
+        bufferOffset = length;
+        setBuffer(buffer);
+        return;
+      }
     }
 
-    if (expandFactor > 1) {
-      expand(expandFactor);
+    if (segments == null) {
+      reserve(bytesLength);
+      putBytes(bytes, 0, bytesLength);
+      return;
     }
 
-    System.arraycopy(bytes, 0, data, length, bytesLength);
-    length += bytesLength;
+    // Raw bytes are split across segments, rather than requiring a segment large enough for all of
+    // them.
+    int offset = Math.min(bytesLength, capacity - length);
+    putBytes(bytes, 0, offset);
+    while (offset < bytesLength) {
+      int count = Math.min(bytesLength - offset, segmentSize);
+      expand(length + count);
+      putBytes(bytes, offset, count);
+      offset += count;
+    }
   }
 
-  private void expand(int expandFactor) {
-    byte[] expanded = new byte[data.length * expandFactor];
-    System.arraycopy(data, 0, expanded, 0, length);
-    data = expanded;
+  private void putBytes(byte[] bytes, int offset, int count) {
+    // Space must already have been reserved.
+    if (data != null) {
+      System.arraycopy(bytes, offset, data, start + length, count);
+    } else {
+      cursor.position(start + length);
+      cursor.put(bytes, offset, count);
+    }
+    length += count;
+  }
+
+  private void addStringBytes(CharSequence string, int length, boolean padded, boolean encoded) {
+    reserve(length);
+    if (putStringBytes(string, length, encoded)) {
+      this.length += length;
+    } else {
+      addStringBytesWithCharset(string, length, padded, encoded);
+    }
+  }
+
+  private boolean putStringBytes(CharSequence string, int length, boolean encoded) {
+    // Transcodes, sanitizes, pads and encodes the string in a single pass, directly into reserved
+    // space in the writer data. The writer length is only updated by the caller on success.
+    int index = start + this.length;
+    int stringLength = string.length();
+
+    for (int i = 0; i < stringLength; ++i) {
+      char c = string.charAt(i);
+      if (Character.isSurrogate(c)) {
+        // The charset encodes a surrogate pair as a single byte, so the length would be different.
+        return false;
+      }
+
+      byte b = Windows1252.encode(c);
+      if (stringSanitizationMode && b == (byte) 0xFF /* ÿ */) {
+        b = 0x79 /* y */;
+      }
+
+      if (encoded) {
+        // Encoding reverses the string, and the output byte at an even index is "flippy".
+        int j = length - 1 - i;
+        putByte(index + j, StringEncodingUtils.invertCharacter(b, j % 2 == 0));
+      } else {
+        putByte(index + i, b);
+      }
+    }
+
+    // Trailing padding in the string is leading padding in the encoded string.
+    int paddingIndex = encoded ? index : index + stringLength;
+    for (int i = 0; i < length - stringLength; ++i) {
+      putByte(paddingIndex + i, (byte) 0xFF);
+    }
+
+    return true;
+  }
+
+  private void addStringBytesWithCharset(
+      CharSequence string, int length, boolean padded, boolean encoded) {
+    byte[] bytes = string.toString().getBytes(Charset.forName("windows-1252"));
+    sanitizeString(bytes);
+    if (padded) {
+      bytes = addPadding(bytes, length);
+    }
+    if (encoded) {
+      StringEncodingUtils.encodeString(bytes);
+    }
+    addBytes(bytes);
+  }
+
+  private void putByte(int index, byte b) {
+    if (data != null) {
+      data[index] = b;
+    } else {
+      buffer.put(index, b);
+    }
+  }
+
+  private void addNumbers(int[] numbers, int max, int size) {
+    // All values are checked before anything is written, so a failure leaves the data unchanged.
+    if (!trustedMode) {
+      for (int number : numbers) {
+        checkNumberSize(number, max);
+      }
+    }
+
+    reserve(numbers.length * size);
+
+    for (int number : numbers) {
+      addNumber(number, size);
+    }
+  }
+
+  private void addNumbers(List<Integer> numbers, int max, int size) {
+    if (!trustedMode) {
+      for (int number : numbers) {
+        checkNumberSize(number, max);
+      }
+    }
+
+    reserve(numbers.size() * size);
+
+    for (int number : numbers) {
+      addNumber(number, size);
+    }
+  }
+
+  private void setNumber(int index, int number, int size) {
+    if (index >= bufferOffset) {
+      // The number is entirely within the current segment, or this writer isn't segmented.
+      if (data != null) {
+        NumberEncodingUtils.encodeNumber(number, data, start + index, size);
+      } else {
+        NumberEncodingUtils.encodeNumber(number, buffer, start + index, size);
+      }
+      return;
+    }
+
+    // The number is in an earlier segment, and may be split across segments.
+    checkNotFlushed();
+    if (scratch == null) {
+      scratch = new byte[4];
+    }
+    NumberEncodingUtils.encodeNumber(number, scratch, 0, size);
+    for (int i = 0; i < size; ++i) {
+      patchByte(index + i, scratch[i]);
+    }
+  }
+
+  private void patchByte(int index, byte b) {
+    if (index >= bufferOffset) {
+      putByte(start + index, b);
+      return;
+    }
+    checkNotFlushed();
+    for (Segment segment : segments) {
+      if (index < segment.offset + segment.length) {
+        segment.buffer.put(segment.buffer.position() + index - segment.offset, b);
+        return;
+      }
+    }
+  }
+
+  private void addNumber(int number, int size) {
+    // Space must already have been reserved.
+    if (data != null) {
+      NumberEncodingUtils.encodeNumber(number, data, start + length, size);
+    } else {
+      NumberEncodingUtils.encodeNumber(number, buffer, start + length, size);
+    }
+    length += size;
+  }
+
+  private void reserve(int bytesLength) {
+    if (length + bytesLength > capacity) {
+      expand(length + bytesLength);
+    }
+  }
+
+  private void expand(int requiredCapacity) {
+    if (channel != null) {
+      flush();
+      if (requiredCapacity > capacity) {
+        int bufferSize = Math.max(requiredCapacity - length, buffer.capacity() * 2);
+        setBuffer(ByteBuffer.allocate(bufferSize));
+      }
+      return;
+    }
+
+    if (segments != null) {
+      addSegment(requiredCapacity - length);
+      return;
+    }
+
+    if (buffer == null) {
+      int expandedCapacity = Math.max(capacity, 1);
+      while (requiredCapacity > expandedCapacity) {
+        expandedCapacity *= 2;
+      }
+      data = Arrays.copyOf(data, expandedCapacity);
+      capacity = expandedCapacity;
+      return;
+    }
+
+    ByteBuffer expanded =
+        allocate(allocator, Math.max(requiredCapacity, capacity * 2), requiredCapacity);
+
+    ByteBuffer previous = buffer;
+    ByteBuffer source;
+    if (data != null) {
+      source = ByteBuffer.wrap(data, start, length);
+    } else {
+      source = cursor;
+      source.limit(start + length).position(start);
+    }
+    expanded.duplicate().put(source);
+
+    setBuffer(expanded);
+    allocator.release(previous);
+  }
+
+  private void addSegment(int requiredCapacity) {
+    ByteBuffer segment =
+        allocate(allocator, Math.max(requiredCapacity, segmentSize), requiredCapacity);
+
+    int segmentLength = length - bufferOffset;
+    if (segmentLength > 0) {
+      segments.add(new Segment(buffer, bufferOffset, segmentLength));
+    } else {
+      allocator.release(buffer);
+    }
+
+    bufferOffset = length;
+    setBuffer(segment);
+  }
+
+  private void write(ByteBuffer source) {
+    try {
+      while (source.hasRemaining()) {
+        channel.write(source);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static ByteBuffer allocate(BufferAllocator allocator, int capacity) {
+    return allocate(allocator, capacity, capacity);
+  }
+
+  private static ByteBuffer allocate(
+      BufferAllocator allocator, int capacity, int requiredCapacity) {
+    ByteBuffer result = allocator.allocate(capacity);
+    if (result.remaining() < requiredCapacity) {
+      throw new IllegalStateException(
+          String.format(
+              "Allocated buffer has %d bytes remaining, but %d bytes are required.",
+              result.remaining(), requiredCapacity));
+    }
+    return result;
+  }
+
+  private static ByteBuffer view(ByteBuffer buffer, int position, int length) {
+    ByteBuffer result = buffer.asReadOnlyBuffer();
+    result.limit(position + length).position(position);
+    return result;
   }
 
   private void sanitizeString(byte[] bytes) {
@@ -252,14 +1098,33 @@ public final class EoWriter {
     return result;
   }
 
-  private static void checkNumberSize(int number, int max) {
-    if (Integer.compareUnsigned(number, max) > 0) {
+  private void checkNotStreaming() {
+    if (channel != null) {
+      throw new UnsupportedOperationException("Streaming writers do not retain the writer data.");
+    }
+  }
+
+  private void checkNotFlushed() {
+    if (segments == null) {
+      throw new IllegalStateException("Streaming writer cannot modify data that has been flushed.");
+    }
+  }
+
+  private void checkSetIndex(int index, int size) {
+    if (index < 0 || size > length - index) {
+      throw new IndexOutOfBoundsException(
+          "index " + index + ", size " + size + ", length " + length);
+    }
+  }
+
+  private void checkNumberSize(int number, int max) {
+    if (!trustedMode && Integer.compareUnsigned(number, max) > 0) {
       throw new IllegalArgumentException(
           String.format("Value %d exceeds maximum of %d.", number, max));
     }
   }
 
-  private static void checkStringLength(String string, int length, boolean padded) {
+  private static void checkStringLength(CharSequence string, int length, boolean padded) {
     if (padded) {
       if (length >= string.length()) {
         return;
@@ -273,4 +1138,16 @@ public final class EoWriter {
           String.format("String \"%s\" does not have expected length of %d.", string, length));
     }
   }
+
+  private static final class Segment {
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    Segment(ByteBuffer buffer, int offset, int length) {
+      this.buffer = buffer;
+      this.offset = offset;
+      this.length = length;
+    }
+  }
 }
@@ -0,0 +1,65 @@
+package dev.cirras.data;
+
+/**
+ * A pool of reusable {@link EoWriter} instances.
+ *
+ * <p>A writer is taken from the pool with {@link EoWriterPool#acquire} and returned with {@link
+ * EoWriterPool#release} once its data is no longer needed. A writer must not be used after it has
+ * been released, and must not be released more than once.
+ *
+ * <p>Pools retain a bounded number of writers, and writers whose capacity has grown beyond the
+ * maximum retained capacity are discarded on release rather than retained. This prevents a single
+ * unusually large piece of data from pinning memory for the lifetime of the pool.
+ *
+ * <p>{@code EoWriterPool} instances are thread-safe.
+ */
+public interface EoWriterPool {
+  /**
+   * Takes a writer from the pool, or creates a new one if the pool is empty.
+   *
+   * <p>The writer's length will be zero, and its string sanitization and trusted modes will be
+   * false.
+   *
+   * @return a writer
+   */
+  EoWriter acquire();
+
+  /**
+   * Returns a writer to the pool.
+   *
+   * @param writer the writer to return, which must have been acquired from this pool
+   */
+  void release(EoWriter writer);
+
+  /**
+   * Creates a pool that retains a single writer for each thread.
+   *
+   * <p>This avoids any contention between threads. If a thread acquires more than one writer at a
+   * time, the additional writers are created as needed and discarded on release.
+   *
+   * @param initialCapacity the initial capacity of new writers
+   * @param maxRetainedCapacity the maximum capacity of a writer that will be retained on release
+   * @return a new pool
+   * @throws IllegalArgumentException if either capacity is negative
+   */
+  static EoWriterPool threadLocal(int initialCapacity, int maxRetainedCapacity) {
+    return new ThreadLocalEoWriterPool(initialCapacity, maxRetainedCapacity);
+  }
+
+  /**
+   * Creates a pool that retains writers in a single bounded queue shared by all threads.
+   *
+   * <p>This suits writers that are acquired on one thread and released on another, such as when
+   * serialized data is handed off to a separate I/O thread.
+   *
+   * @param maxPoolSize the maximum number of writers to retain
+   * @param initialCapacity the initial capacity of new writers
+   * @param maxRetainedCapacity the maximum capacity of a writer that will be retained on release
+   * @return a new pool
+   * @throws IllegalArgumentException if the maximum pool size is not positive, or if either
+   *     capacity is negative
+   */
+  static EoWriterPool shared(int maxPoolSize, int initialCapacity, int maxRetainedCapacity) {
+    return new SharedEoWriterPool(maxPoolSize, initialCapacity, maxRetainedCapacity);
+  }
+}
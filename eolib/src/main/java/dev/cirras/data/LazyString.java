@@ -0,0 +1,136 @@
+package dev.cirras.data;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A string that is read from EO data, but not decoded until it is first accessed.
+ *
+ * <p>Instances are created by {@link EoReader} in lazy string mode. The decoded string is cached on
+ * first access, after which the reference to the input data is released.
+ *
+ * <p>The input data must not be modified before the string is decoded. In particular, an input
+ * array must not be reused for new data while it is still referenced by an undecoded {@code
+ * LazyString}.
+ *
+ * <p>{@code LazyString} instances are thread-safe.
+ *
+ * @see EoReader#setLazyStringMode
+ */
+public final class LazyString implements CharSequence {
+  private final int length;
+  private final int start;
+  private final boolean encoded;
+  private byte[] array;
+  private ByteBuffer buffer;
+  private int index;
+  private volatile String value;
+
+  private LazyString(
+      byte[] array, ByteBuffer buffer, int index, int rawLength, int start, boolean encoded) {
+    this.length = rawLength - start;
+    this.start = start;
+    this.encoded = encoded;
+    this.array = array;
+    this.buffer = buffer;
+    this.index = index;
+  }
+
+  static LazyString of(byte[] array, ByteBuffer buffer, int index, int length) {
+    return new LazyString(array, buffer, index, length, 0, false);
+  }
+
+  static LazyString ofEncoded(
+      byte[] array, ByteBuffer buffer, int index, int rawLength, int start) {
+    return new LazyString(array, buffer, index, rawLength, start, true);
+  }
+
+  /**
+   * Returns the length of the string.
+   *
+   * <p>This does not require the string to be decoded.
+   *
+   * @return the number of characters in the string
+   */
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    return toString().charAt(index);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    return toString().subSequence(start, end);
+  }
+
+  /**
+   * Returns the decoded string, decoding it if this is the first access.
+   *
+   * @return the decoded string
+   */
+  @Override
+  public String toString() {
+    String result = value;
+    if (result == null) {
+      result = decode();
+    }
+    return result;
+  }
+
+  /**
+   * Indicates whether the string has been decoded.
+   *
+   * @return true if the string has been decoded
+   */
+  public boolean isDecoded() {
+    return value != null;
+  }
+
+  /**
+   * Indicates whether some other object is a {@code LazyString} with the same characters.
+   *
+   * <p>Consistent with other {@link CharSequence} implementations, a {@code LazyString} is never
+   * equal to a {@link String}.
+   *
+   * @param obj the reference object with which to compare
+   * @return true if this object is the same as the obj argument; false otherwise
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    LazyString other = (LazyString) obj;
+    return length == other.length && toString().equals(other.toString());
+  }
+
+  /**
+   * Returns a hash code value for the object.
+   *
+   * @return the hash code of the decoded string
+   */
+  @Override
+  public int hashCode() {
+    return toString().hashCode();
+  }
+
+  private synchronized String decode() {
+    if (value == null) {
+      if (encoded) {
+        value = EoReader.decodeEncodedString(array, buffer, index, length + start, start);
+      } else {
+        value = EoReader.decodeString(array, buffer, index, length);
+      }
+      array = null;
+      buffer = null;
+      index = 0;
+    }
+    return value;
+  }
+}
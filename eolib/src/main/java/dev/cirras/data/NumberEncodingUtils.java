@@ -1,5 +1,7 @@
 package dev.cirras.data;
 
+import java.nio.ByteBuffer;
+
 /** A utility class for encoding and decoding EO numbers. */
 public final class NumberEncodingUtils {
   /**
@@ -9,6 +11,116 @@ public final class NumberEncodingUtils {
    * @return the encoded sequence of bytes
    */
   public static byte[] encodeNumber(int number) {
+    byte[] result = new byte[4];
+    encodeNumber(number, result, 0, 4);
+    return result;
+  }
+
+  /**
+   * Encodes a number to a range within a sequence of bytes.
+   *
+   * <p>Only the first {@code length} bytes of the encoded number are written, so the number should
+   * be below the maximum value for that many bytes (see {@link EoNumericLimits}). At most 4 bytes
+   * will be written.
+   *
+   * @param number the number to encode
+   * @param bytes the sequence of bytes to write the encoded number to
+   * @param offset the index of the first byte to write
+   * @param length the number of bytes to write
+   * @throws IndexOutOfBoundsException if the range is outside the bounds of the array
+   */
+  public static void encodeNumber(int number, byte[] bytes, int offset, int length) {
+    int encoded = encodePacked(number, length);
+    bytes[offset] = (byte) encoded;
+    if (length > 1) {
+      bytes[offset + 1] = (byte) (encoded >>> 8);
+    }
+    if (length > 2) {
+      bytes[offset + 2] = (byte) (encoded >>> 16);
+    }
+    if (length > 3) {
+      bytes[offset + 3] = (byte) (encoded >>> 24);
+    }
+  }
+
+  /**
+   * Encodes a number to a range within a buffer.
+   *
+   * <p>Only the first {@code length} bytes of the encoded number are written, so the number should
+   * be below the maximum value for that many bytes (see {@link EoNumericLimits}). At most 4 bytes
+   * will be written. The position of the buffer is not modified.
+   *
+   * @param number the number to encode
+   * @param buffer the buffer to write the encoded number to
+   * @param index the index of the first byte to write
+   * @param length the number of bytes to write
+   * @throws IndexOutOfBoundsException if the range is outside the limit of the buffer
+   */
+  public static void encodeNumber(int number, ByteBuffer buffer, int index, int length) {
+    int encoded = encodePacked(number, length);
+    buffer.put(index, (byte) encoded);
+    if (length > 1) {
+      buffer.put(index + 1, (byte) (encoded >>> 8));
+    }
+    if (length > 2) {
+      buffer.put(index + 2, (byte) (encoded >>> 16));
+    }
+    if (length > 3) {
+      buffer.put(index + 3, (byte) (encoded >>> 24));
+    }
+  }
+
+  /**
+   * Encodes a number, returning the encoded bytes packed into an int with the first byte in the
+   * lowest 8 bits.
+   *
+   * <p>Numbers that fit in {@code length} bytes take a path specialized for that width, which never
+   * needs an unsigned division, and needs no division at all for a 1-byte number. Others fall back
+   * to encoding all 4 bytes.
+   */
+  private static int encodePacked(int number, int length) {
+    // Within these limits, the number is non-negative, and signed division can be used.
+    switch (length) {
+      case 1:
+        if (Integer.compareUnsigned(number, EoNumericLimits.CHAR_MAX) < 0) {
+          return 0xFEFEFE00 | (number + 1);
+        }
+        break;
+      case 2:
+        if (Integer.compareUnsigned(number, EoNumericLimits.SHORT_MAX) < 0) {
+          return 0xFEFE0000 | encodeShort(number);
+        }
+        break;
+      case 3:
+        if (Integer.compareUnsigned(number, EoNumericLimits.THREE_MAX) < 0) {
+          if (number < EoNumericLimits.SHORT_MAX) {
+            return 0xFEFE0000 | encodeShort(number);
+          }
+          int c = number / EoNumericLimits.SHORT_MAX + 1;
+          return 0xFE000000 | (c << 16) | encodeDigits(number % EoNumericLimits.SHORT_MAX);
+        }
+        break;
+      default:
+        break;
+    }
+    return encodePackedInt(number);
+  }
+
+  private static int encodeShort(int number) {
+    if (number < EoNumericLimits.CHAR_MAX) {
+      return 0xFE00 | (number + 1);
+    }
+    return encodeDigits(number);
+  }
+
+  private static int encodeDigits(int value) {
+    // The low 2 bytes of a number with a nonzero higher byte, which are never 0xFE.
+    int b = value / EoNumericLimits.CHAR_MAX + 1;
+    int a = value % EoNumericLimits.CHAR_MAX + 1;
+    return (b << 8) | a;
+  }
+
+  private static int encodePackedInt(int number) {
     int value = number;
     int d = 0xFE;
     if (Integer.compareUnsigned(number, EoNumericLimits.THREE_MAX) >= 0) {
@@ -30,7 +142,7 @@ public final class NumberEncodingUtils {
 
     int a = value + 1;
 
-    return new byte[] {(byte) a, (byte) b, (byte) c, (byte) d};
+    return (d << 24) | (c << 16) | (b << 8) | a;
   }
 
   /**
@@ -40,32 +152,64 @@ public final class NumberEncodingUtils {
    * @return the decoded number
    */
   public static int decodeNumber(byte[] bytes) {
+    return decodeNumber(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Decodes a number from a range within a sequence of bytes.
+   *
+   * <p>At most 4 bytes will be read from the range.
+   *
+   * @param bytes the sequence of bytes to decode
+   * @param offset the index of the first byte to decode
+   * @param length the number of bytes to decode
+   * @return the decoded number
+   * @throws IndexOutOfBoundsException if the range is outside the bounds of the array
+   */
+  public static int decodeNumber(byte[] bytes, int offset, int length) {
     int result = 0;
-    int length = Math.min(bytes.length, 4);
+    int multiplier = 1;
+    length = Math.min(length, 4);
 
     for (int i = 0; i < length; ++i) {
-      byte b = bytes[i];
+      byte b = bytes[offset + i];
 
       if (b == (byte) 0xFE) {
         break;
       }
 
-      int value = Byte.toUnsignedInt(b) - 1;
-
-      switch (i) {
-        case 0:
-          result += value;
-          break;
-        case 1:
-          result += EoNumericLimits.CHAR_MAX * value;
-          break;
-        case 2:
-          result += EoNumericLimits.SHORT_MAX * value;
-          break;
-        case 3:
-          result += EoNumericLimits.THREE_MAX * value;
-          break;
+      result += (Byte.toUnsignedInt(b) - 1) * multiplier;
+      multiplier *= EoNumericLimits.CHAR_MAX;
+    }
+
+    return result;
+  }
+
+  /**
+   * Decodes a number from a range within a buffer.
+   *
+   * <p>At most 4 bytes will be read from the range. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer containing the bytes to decode
+   * @param index the index of the first byte to decode
+   * @param length the number of bytes to decode
+   * @return the decoded number
+   * @throws IndexOutOfBoundsException if the range is outside the limit of the buffer
+   */
+  public static int decodeNumber(ByteBuffer buffer, int index, int length) {
+    int result = 0;
+    int multiplier = 1;
+    length = Math.min(length, 4);
+
+    for (int i = 0; i < length; ++i) {
+      byte b = buffer.get(index + i);
+
+      if (b == (byte) 0xFE) {
+        break;
       }
+
+      result += (Byte.toUnsignedInt(b) - 1) * multiplier;
+      multiplier *= EoNumericLimits.CHAR_MAX;
     }
 
     return result;
@@ -0,0 +1,49 @@
+package dev.cirras.data;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+final class PooledBufferAllocator implements BufferAllocator {
+  private final BufferAllocator allocator;
+  private final int bufferSize;
+  private final BlockingQueue<ByteBuffer> buffers;
+
+  PooledBufferAllocator(BufferAllocator allocator, int bufferSize, int maxPoolSize) {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("Buffer size must be positive");
+    }
+    if (maxPoolSize <= 0) {
+      throw new IllegalArgumentException("Max pool size must be positive");
+    }
+    this.allocator = allocator;
+    this.bufferSize = bufferSize;
+    this.buffers = new ArrayBlockingQueue<>(maxPoolSize);
+  }
+
+  @Override
+  public ByteBuffer allocate(int capacity) {
+    if (capacity > bufferSize) {
+      // Oversized buffers are never pooled.
+      return allocator.allocate(capacity);
+    }
+    ByteBuffer buffer = buffers.poll();
+    if (buffer == null) {
+      buffer = allocator.allocate(bufferSize);
+    }
+    return buffer;
+  }
+
+  @Override
+  public void release(ByteBuffer buffer) {
+    if (buffer.capacity() != bufferSize) {
+      allocator.release(buffer);
+      return;
+    }
+    buffer.clear();
+    if (!buffers.offer(buffer)) {
+      // The pool is full, so the buffer is discarded.
+      allocator.release(buffer);
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package dev.cirras.data;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+final class SharedEoWriterPool extends AbstractEoWriterPool {
+  private final BlockingQueue<EoWriter> writers;
+
+  SharedEoWriterPool(int maxPoolSize, int initialCapacity, int maxRetainedCapacity) {
+    super(initialCapacity, maxRetainedCapacity);
+    if (maxPoolSize <= 0) {
+      throw new IllegalArgumentException("Max pool size must be positive");
+    }
+    this.writers = new ArrayBlockingQueue<>(maxPoolSize);
+  }
+
+  @Override
+  protected EoWriter poll() {
+    return writers.poll();
+  }
+
+  @Override
+  protected void offer(EoWriter writer) {
+    // If the pool is full, the writer is discarded.
+    writers.offer(writer);
+  }
+}
@@ -0,0 +1,216 @@
+package dev.cirras.data;
+
+import dev.cirras.internal.ByteArrays;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of decoded strings, which allows repeated strings in EO data to share a single
+ * {@link String} instance.
+ *
+ * <p>Strings are looked up by their raw bytes in the input data, so a string is only decoded when
+ * it is not already in the cache. The cache has a fixed number of slots, and each string maps to a
+ * single slot. When two strings map to the same slot, the most recently read one replaces the
+ * other. Strings longer than the maximum string length are never cached.
+ *
+ * <p>{@code StringCache} instances are thread-safe, so a single cache can be shared by any number
+ * of readers.
+ *
+ * @see EoReader#setStringCache
+ */
+public final class StringCache {
+  private static final int DEFAULT_MAX_STRING_LENGTH = 64;
+
+  private final AtomicReferenceArray<Entry> entries;
+  private final int mask;
+  private final int maxStringLength;
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+
+  /**
+   * Creates a new {@code StringCache} instance with the specified capacity.
+   *
+   * <p>Strings longer than 64 characters will not be cached.
+   *
+   * @param capacity the maximum number of strings to cache; rounded up to a power of 2
+   * @throws IllegalArgumentException if the capacity is not positive, or is greater than
+   *     2<sup>30</sup>
+   */
+  public StringCache(int capacity) {
+    this(capacity, DEFAULT_MAX_STRING_LENGTH);
+  }
+
+  /**
+   * Creates a new {@code StringCache} instance with the specified capacity and maximum string
+   * length.
+   *
+   * @param capacity the maximum number of strings to cache; rounded up to a power of 2
+   * @param maxStringLength the maximum length of a string to cache
+   * @throws IllegalArgumentException if the capacity is not positive or is greater than
+   *     2<sup>30</sup>, or if the maximum string length is negative
+   */
+  public StringCache(int capacity, int maxStringLength) {
+    if (capacity <= 0 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+    }
+    if (maxStringLength < 0) {
+      throw new IllegalArgumentException("Negative max string length");
+    }
+    int slots = Integer.highestOneBit(capacity - 1) << 1;
+    this.entries = new AtomicReferenceArray<>(Math.max(1, slots));
+    this.mask = entries.length() - 1;
+    this.maxStringLength = maxStringLength;
+  }
+
+  /**
+   * Gets the capacity of the cache.
+   *
+   * @return the maximum number of strings that can be cached
+   */
+  public int getCapacity() {
+    return entries.length();
+  }
+
+  /**
+   * Gets the maximum length of a string that will be cached.
+   *
+   * @return the maximum string length
+   */
+  public int getMaxStringLength() {
+    return maxStringLength;
+  }
+
+  /**
+   * Gets the number of string reads that were satisfied by the cache.
+   *
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /**
+   * Gets the number of string reads that had to be decoded, including strings that were too long to
+   * be cached.
+   *
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /** Removes all strings from the cache and resets the hit and miss counts. */
+  public void clear() {
+    for (int i = 0; i < entries.length(); ++i) {
+      entries.set(i, null);
+    }
+    hitCount.reset();
+    missCount.reset();
+  }
+
+  String get(byte[] array, ByteBuffer buffer, int index, int length) {
+    return get(array, buffer, index, length, 0, false);
+  }
+
+  String getEncoded(byte[] array, ByteBuffer buffer, int index, int rawLength, int start) {
+    return get(array, buffer, index, rawLength, start, true);
+  }
+
+  private String get(
+      byte[] array, ByteBuffer buffer, int index, int rawLength, int start, boolean encoded) {
+    if (rawLength - start > maxStringLength) {
+      missCount.increment();
+      return decode(array, buffer, index, rawLength, start, encoded);
+    }
+
+    int hash = hash(array, buffer, index, rawLength, start, encoded);
+    int slot = hash & mask;
+
+    Entry entry = entries.get(slot);
+    if (entry != null && entry.matches(array, buffer, index, rawLength, start, encoded, hash)) {
+      hitCount.increment();
+      return entry.value;
+    }
+
+    missCount.increment();
+
+    String value = decode(array, buffer, index, rawLength, start, encoded);
+    byte[] bytes = new byte[rawLength];
+    for (int i = 0; i < rawLength; ++i) {
+      bytes[i] = byteAt(array, buffer, index + i);
+    }
+    entries.set(slot, new Entry(bytes, start, encoded, hash, value));
+
+    return value;
+  }
+
+  private static String decode(
+      byte[] array, ByteBuffer buffer, int index, int rawLength, int start, boolean encoded) {
+    if (encoded) {
+      return EoReader.decodeEncodedString(array, buffer, index, rawLength, start);
+    }
+    return EoReader.decodeString(array, buffer, index, rawLength);
+  }
+
+  private static int hash(
+      byte[] array, ByteBuffer buffer, int index, int rawLength, int start, boolean encoded) {
+    int hash = encoded ? 31 * start + 1 : 0;
+    if (array != null) {
+      for (int i = 0; i < rawLength; ++i) {
+        hash = 31 * hash + array[index + i];
+      }
+    } else {
+      for (int i = 0; i < rawLength; ++i) {
+        hash = 31 * hash + buffer.get(index + i);
+      }
+    }
+    // Spread the high bits into the low bits, which select the slot.
+    return hash ^ (hash >>> 16);
+  }
+
+  private static byte byteAt(byte[] array, ByteBuffer buffer, int index) {
+    return array != null ? array[index] : buffer.get(index);
+  }
+
+  private static final class Entry {
+    private final byte[] bytes;
+    private final int start;
+    private final boolean encoded;
+    private final int hash;
+    private final String value;
+
+    Entry(byte[] bytes, int start, boolean encoded, int hash, String value) {
+      this.bytes = bytes;
+      this.start = start;
+      this.encoded = encoded;
+      this.hash = hash;
+      this.value = value;
+    }
+
+    boolean matches(
+        byte[] array,
+        ByteBuffer buffer,
+        int index,
+        int rawLength,
+        int start,
+        boolean encoded,
+        int hash) {
+      if (this.hash != hash
+          || bytes.length != rawLength
+          || this.start != start
+          || this.encoded != encoded) {
+        return false;
+      }
+      if (array != null) {
+        return ByteArrays.equals(bytes, 0, array, index, rawLength);
+      }
+      for (int i = 0; i < rawLength; ++i) {
+        if (bytes[i] != buffer.get(index + i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
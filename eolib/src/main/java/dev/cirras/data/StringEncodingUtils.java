@@ -1,7 +1,20 @@
 package dev.cirras.data;
 
-/** A utility class for encoding and decoding EO strings. */
+import dev.cirras.internal.ByteArrays;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A utility class for encoding and decoding EO strings.
+ *
+ * <p>Strings are reversed and inverted in a single pass, which processes 8 bytes at a time (SWAR)
+ * from both ends of the string towards the middle.
+ */
 public final class StringEncodingUtils {
+  private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+  private static final long HIGH_BITS = 0x8080808080808080L;
+  private static final long ONES = 0x0101010101010101L;
+
   /**
    * Encodes a string by inverting the bytes and then reversing them.
    *
@@ -10,8 +23,37 @@ public final class StringEncodingUtils {
    * @param bytes the byte array to encode
    */
   public static void encodeString(byte[] bytes) {
-    invertCharacters(bytes);
-    reverseCharacters(bytes);
+    encodeString(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Encodes a string within a range of a byte array.
+   *
+   * <p>This is an in-place operation.
+   *
+   * @param bytes the byte array containing the string
+   * @param offset the index of the first byte of the string
+   * @param length the length of the string
+   * @throws IndexOutOfBoundsException if the range is outside the bounds of the array
+   */
+  public static void encodeString(byte[] bytes, int offset, int length) {
+    checkRange(offset, length, bytes.length);
+    transform(bytes, null, offset, length, true);
+  }
+
+  /**
+   * Encodes a string within a range of a buffer.
+   *
+   * <p>This is an in-place operation. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer containing the string
+   * @param index the index of the first byte of the string
+   * @param length the length of the string
+   * @throws IndexOutOfBoundsException if the range is outside the limit of the buffer
+   */
+  public static void encodeString(ByteBuffer buffer, int index, int length) {
+    checkRange(index, length, buffer.limit());
+    transform(null, buffer, index, length, true);
   }
 
   /**
@@ -22,37 +64,161 @@ public final class StringEncodingUtils {
    * @param bytes the byte array to decode
    */
   public static void decodeString(byte[] bytes) {
-    reverseCharacters(bytes);
-    invertCharacters(bytes);
+    decodeString(bytes, 0, bytes.length);
   }
 
-  private static void invertCharacters(byte[] bytes) {
-    boolean flippy = (bytes.length % 2 == 1);
+  /**
+   * Decodes a string within a range of a byte array.
+   *
+   * <p>This is an in-place operation.
+   *
+   * @param bytes the byte array containing the string
+   * @param offset the index of the first byte of the string
+   * @param length the length of the string
+   * @throws IndexOutOfBoundsException if the range is outside the bounds of the array
+   */
+  public static void decodeString(byte[] bytes, int offset, int length) {
+    checkRange(offset, length, bytes.length);
+    transform(bytes, null, offset, length, false);
+  }
+
+  /**
+   * Decodes a string within a range of a buffer.
+   *
+   * <p>This is an in-place operation. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer containing the string
+   * @param index the index of the first byte of the string
+   * @param length the length of the string
+   * @throws IndexOutOfBoundsException if the range is outside the limit of the buffer
+   */
+  public static void decodeString(ByteBuffer buffer, int index, int length) {
+    checkRange(index, length, buffer.limit());
+    transform(null, buffer, index, length, false);
+  }
+
+  /**
+   * Reverses and inverts a string in place.
+   *
+   * <p>Whether a byte is "flippy" alternates with its index relative to the start of the string.
+   * When encoding, it depends on the index that the byte is written to, and when decoding, on the
+   * index that the byte is read from.
+   */
+  private static void transform(
+      byte[] array, ByteBuffer buffer, int offset, int length, boolean encode) {
+    // Words are read from arrays in little-endian order.
+    boolean bigEndian = array == null && buffer.order() == ByteOrder.BIG_ENDIAN;
+    long evenLanes = bigEndian ? 0xFF00FF00FF00FF00L : 0x00FF00FF00FF00FFL;
 
-    for (int i = 0; i < bytes.length; ++i) {
-      byte c = bytes[i];
-      int f = 0;
+    int front = 0;
+    int back = length;
 
-      if (flippy) {
-        f = 0x2E;
-        if (c >= 0x50) {
-          f *= -1;
-        }
+    for (; back - front >= 2 * Long.BYTES; front += Long.BYTES, back -= Long.BYTES) {
+      int backStart = back - Long.BYTES;
+      long frontWord = getLong(array, buffer, offset + front);
+      long backWord = getLong(array, buffer, offset + backStart);
+      long frontFlippy = front % 2 == 0 ? evenLanes : ~evenLanes;
+      long backFlippy = backStart % 2 == 0 ? evenLanes : ~evenLanes;
+
+      long newFront;
+      long newBack;
+
+      if (encode) {
+        newFront = invertCharacters(Long.reverseBytes(backWord), frontFlippy);
+        newBack = invertCharacters(Long.reverseBytes(frontWord), backFlippy);
+      } else {
+        newFront = Long.reverseBytes(invertCharacters(backWord, backFlippy));
+        newBack = Long.reverseBytes(invertCharacters(frontWord, frontFlippy));
       }
 
-      if (c >= 0x22 && c <= 0x7E) {
-        bytes[i] = (byte) (0x9F - c - f);
+      putLong(array, buffer, offset + front, newFront);
+      putLong(array, buffer, offset + backStart, newBack);
+    }
+
+    for (--back; front <= back; ++front, --back) {
+      byte frontByte = getByte(array, buffer, offset + front);
+      byte backByte = getByte(array, buffer, offset + back);
+      boolean frontFlippy = front % 2 == 0;
+      boolean backFlippy = back % 2 == 0;
+
+      if (encode) {
+        putByte(array, buffer, offset + front, invertCharacter(backByte, frontFlippy));
+        putByte(array, buffer, offset + back, invertCharacter(frontByte, backFlippy));
+      } else {
+        putByte(array, buffer, offset + front, invertCharacter(backByte, backFlippy));
+        putByte(array, buffer, offset + back, invertCharacter(frontByte, frontFlippy));
       }
+    }
+  }
+
+  private static long getLong(byte[] array, ByteBuffer buffer, int index) {
+    return array != null ? ByteArrays.getLong(array, index) : buffer.getLong(index);
+  }
+
+  private static void putLong(byte[] array, ByteBuffer buffer, int index, long value) {
+    if (array != null) {
+      ByteArrays.putLong(array, index, value);
+    } else {
+      buffer.putLong(index, value);
+    }
+  }
+
+  private static byte getByte(byte[] array, ByteBuffer buffer, int index) {
+    return array != null ? array[index] : buffer.get(index);
+  }
+
+  private static void putByte(byte[] array, ByteBuffer buffer, int index, byte value) {
+    if (array != null) {
+      array[index] = value;
+    } else {
+      buffer.put(index, value);
+    }
+  }
+
+  /**
+   * Inverts 8 characters at once, with the same result as {@link #invertCharacter} for each byte.
+   *
+   * <p>Each byte from {@code 0x22} to {@code 0x7E} becomes {@code k - c}, where {@code k} is {@code
+   * 0x9F}, or {@code 0x71} or {@code 0xCD} for a flippy byte below or above {@code 0x50}. Since
+   * {@code k} is never less than {@code c}, the subtraction never borrows from the next byte.
+   *
+   * @param word the bytes to invert
+   * @param flippy a mask with all bits set in each flippy byte
+   */
+  private static long invertCharacters(long word, long flippy) {
+    // Adding to the low 7 bits of each byte sets its high bit if the byte is above a threshold.
+    long low = word & LOW_BITS;
+    long inRange = (low + 0x5E * ONES) & ~(low + ONES) & ~word & HIGH_BITS;
+    long rangeMask = (inRange >>> 7) * 0xFF;
+    long highMask = (((low + 0x30 * ONES) & HIGH_BITS) >>> 7) * 0xFF;
+
+    long flippyK = (0xCD * ONES & highMask) | (0x71 * ONES & ~highMask);
+    long k = (0x9F * ONES & ~flippy) | (flippyK & flippy);
 
-      flippy = !flippy;
+    return (word & ~rangeMask) | ((k - (word & rangeMask)) & rangeMask);
+  }
+
+  static byte invertCharacter(byte c, boolean flippy) {
+    if (c < 0x22 || c > 0x7E) {
+      return c;
     }
+
+    int f = 0;
+
+    if (flippy) {
+      f = 0x2E;
+      if (c >= 0x50) {
+        f *= -1;
+      }
+    }
+
+    return (byte) (0x9F - c - f);
   }
 
-  private static void reverseCharacters(byte[] bytes) {
-    for (int i = 0; i < bytes.length / 2; i++) {
-      byte b = bytes[i];
-      bytes[i] = bytes[bytes.length - i - 1];
-      bytes[bytes.length - i - 1] = b;
+  private static void checkRange(int offset, int length, int limit) {
+    if (offset < 0 || length < 0 || length > limit - offset) {
+      throw new IndexOutOfBoundsException(
+          "offset " + offset + ", length " + length + ", limit " + limit);
     }
   }
 
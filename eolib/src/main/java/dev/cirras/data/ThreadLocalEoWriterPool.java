@@ -0,0 +1,27 @@
+package dev.cirras.data;
+
+final class ThreadLocalEoWriterPool extends AbstractEoWriterPool {
+  // Holds the thread's writer while it is not acquired. Taking it out of the holder on acquire
+  // means that nested acquisitions on the same thread never share a writer.
+  private final ThreadLocal<EoWriter[]> holder = ThreadLocal.withInitial(() -> new EoWriter[1]);
+
+  ThreadLocalEoWriterPool(int initialCapacity, int maxRetainedCapacity) {
+    super(initialCapacity, maxRetainedCapacity);
+  }
+
+  @Override
+  protected EoWriter poll() {
+    EoWriter[] slot = holder.get();
+    EoWriter writer = slot[0];
+    slot[0] = null;
+    return writer;
+  }
+
+  @Override
+  protected void offer(EoWriter writer) {
+    EoWriter[] slot = holder.get();
+    if (slot[0] == null) {
+      slot[0] = writer;
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package dev.cirras.data;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A utility class for encoding and decoding windows-1252 text without going through {@link
+ * java.nio.charset.Charset}.
+ *
+ * <p>Decoding is table-driven, and produces exactly the same characters as the JDK's {@code
+ * windows-1252} charset, including {@code U+FFFD} for the 5 unmapped bytes. Likewise, encoding
+ * produces the same bytes as the charset, including {@code ?} for unmappable characters.
+ */
+final class Windows1252 {
+  private static final char[] HIGH_CHARACTERS = {
+    '\u20AC', '\uFFFD', '\u201A', '\u0192', '\u201E', '\u2026', '\u2020', '\u2021',
+    '\u02C6', '\u2030', '\u0160', '\u2039', '\u0152', '\uFFFD', '\u017D', '\uFFFD',
+    '\uFFFD', '\u2018', '\u2019', '\u201C', '\u201D', '\u2022', '\u2013', '\u2014',
+    '\u02DC', '\u2122', '\u0161', '\u203A', '\u0153', '\uFFFD', '\u017E', '\u0178'
+  };
+
+  private static final char[] DECODE_TABLE = new char[256];
+
+  static {
+    for (int i = 0; i < DECODE_TABLE.length; ++i) {
+      DECODE_TABLE[i] = (char) i;
+    }
+
+    System.arraycopy(HIGH_CHARACTERS, 0, DECODE_TABLE, 0x80, HIGH_CHARACTERS.length);
+  }
+
+  /**
+   * Encodes a single character to windows-1252.
+   *
+   * <p>Surrogates are encoded as {@code ?}, like any other unmappable character. Note that the
+   * charset encodes a surrogate pair as a single {@code ?}, which callers must handle themselves.
+   *
+   * @param c the character to encode
+   * @return the encoded byte
+   */
+  static byte encode(char c) {
+    if (c < 0x80 || (c >= 0xA0 && c <= 0xFF)) {
+      return (byte) c;
+    }
+
+    if (c != '\uFFFD') {
+      for (int i = 0; i < HIGH_CHARACTERS.length; ++i) {
+        if (HIGH_CHARACTERS[i] == c) {
+          return (byte) (0x80 + i);
+        }
+      }
+    }
+
+    return '?';
+  }
+
+  /**
+   * Decodes a single windows-1252 byte.
+   *
+   * @param b the byte to decode
+   * @return the decoded character
+   */
+  static char decode(byte b) {
+    return DECODE_TABLE[b & 0xFF];
+  }
+
+  /**
+   * Decodes a range of windows-1252 bytes to a string.
+   *
+   * <p>Bytes outside the {@code 0x80-0x9F} range are identical in ISO-8859-1, so a range without
+   * any of those bytes is handed directly to the (intrinsified) ISO-8859-1 string constructor.
+   *
+   * @param bytes the array containing the bytes to decode
+   * @param offset the index of the first byte to decode
+   * @param length the number of bytes to decode
+   * @return the decoded string
+   */
+  static String decode(byte[] bytes, int offset, int length) {
+    int end = offset + length;
+    for (int i = offset; i < end; ++i) {
+      if (isHighByte(bytes[i])) {
+        return decodeWithTable(bytes, offset, length);
+      }
+    }
+    return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * Decodes a range of windows-1252 bytes to a string.
+   *
+   * @param buffer the buffer containing the bytes to decode
+   * @param index the index of the first byte to decode
+   * @param length the number of bytes to decode
+   * @return the decoded string
+   */
+  static String decode(ByteBuffer buffer, int index, int length) {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; ++i) {
+      chars[i] = decode(buffer.get(index + i));
+    }
+    return new String(chars);
+  }
+
+  private static String decodeWithTable(byte[] bytes, int offset, int length) {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; ++i) {
+      chars[i] = decode(bytes[offset + i]);
+    }
+    return new String(chars);
+  }
+
+  private static boolean isHighByte(byte b) {
+    return (b & 0xE0) == 0x80;
+  }
+
+  private Windows1252() {
+    // utility class
+  }
+}
@@ -1,7 +1,18 @@
 package dev.cirras.encrypt;
 
+import dev.cirras.internal.ByteArrays;
+
 /** A utility class for encrypting and decrypting EO data. */
 public final class EncryptionUtils {
+  private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+  private static final long HIGH_BITS = 0x8080808080808080L;
+
+  /**
+   * Tables of the byte values that are divisible by each multiple, as 256-bit sets. Multiples above
+   * 255 share the last table, since only {@code 0} is divisible by them.
+   */
+  private static final long[][] MULTIPLES_TABLES = createMultiplesTables();
+
   private EncryptionUtils() {
     // utility class
   }
@@ -22,26 +33,45 @@ public final class EncryptionUtils {
    * @param data the data to interleave
    */
   public static void interleave(byte[] data) {
-    byte[] buffer = new byte[data.length];
-
-    int i = 0;
-    int ii = 0;
-
-    for (; i < data.length; i += 2) {
-      buffer[i] = data[ii++];
-    }
-
-    --i;
-
-    if (data.length % 2 != 0) {
-      i -= 2;
-    }
+    interleave(data, 0, data.length);
+  }
 
-    for (; i >= 0; i -= 2) {
-      buffer[i] = data[ii++];
-    }
+  /**
+   * Interleaves a range of a sequence of bytes.
+   *
+   * <p>This is an in-place operation. A scratch array of {@code length} bytes is allocated; use
+   * {@link #interleave(byte[], int, int, byte[])} to reuse one instead.
+   *
+   * @param data the data containing the range to interleave
+   * @param offset the index of the first byte to interleave
+   * @param length the number of bytes to interleave
+   * @throws IndexOutOfBoundsException if the range is outside the bounds of the data
+   * @see #interleave(byte[])
+   */
+  public static void interleave(byte[] data, int offset, int length) {
+    checkRange(offset, length, data.length);
+    interleave(data, offset, length, new byte[length]);
+  }
 
-    System.arraycopy(buffer, 0, data, 0, data.length);
+  /**
+   * Interleaves a range of a sequence of bytes, using a caller-provided scratch array.
+   *
+   * <p>This is an in-place operation, and does not allocate. The contents of the scratch array are
+   * overwritten.
+   *
+   * @param data the data containing the range to interleave
+   * @param offset the index of the first byte to interleave
+   * @param length the number of bytes to interleave
+   * @param scratch a scratch array of at least {@code length} bytes
+   * @throws IndexOutOfBoundsException if the range is outside the bounds of the data
+   * @throws IllegalArgumentException if the scratch array is shorter than {@code length}
+   * @see #interleave(byte[])
+   */
+  public static void interleave(byte[] data, int offset, int length, byte[] scratch) {
+    checkRange(offset, length, data.length);
+    checkScratch(scratch, length);
+    interleave(data, offset, scratch, 0, length);
+    System.arraycopy(scratch, 0, data, offset, length);
   }
 
   /**
@@ -59,26 +89,45 @@ public final class EncryptionUtils {
    * @param data the data to deinterleave
    */
   public static void deinterleave(byte[] data) {
-    byte[] buffer = new byte[data.length];
-
-    int i = 0;
-    int ii = 0;
-
-    for (; i < data.length; i += 2) {
-      buffer[ii++] = data[i];
-    }
-
-    --i;
-
-    if (data.length % 2 != 0) {
-      i -= 2;
-    }
+    deinterleave(data, 0, data.length);
+  }
 
-    for (; i >= 0; i -= 2) {
-      buffer[ii++] = data[i];
-    }
+  /**
+   * Deinterleaves a range of a sequence of bytes.
+   *
+   * <p>This is an in-place operation. A scratch array of {@code length} bytes is allocated; use
+   * {@link #deinterleave(byte[], int, int, byte[])} to reuse one instead.
+   *
+   * @param data the data containing the range to deinterleave
+   * @param offset the index of the first byte to deinterleave
+   * @param length the number of bytes to deinterleave
+   * @throws IndexOutOfBoundsException if the range is outside the bounds of the data
+   * @see #deinterleave(byte[])
+   */
+  public static void deinterleave(byte[] data, int offset, int length) {
+    checkRange(offset, length, data.length);
+    deinterleave(data, offset, length, new byte[length]);
+  }
 
-    System.arraycopy(buffer, 0, data, 0, data.length);
+  /**
+   * Deinterleaves a range of a sequence of bytes, using a caller-provided scratch array.
+   *
+   * <p>This is an in-place operation, and does not allocate. The contents of the scratch array are
+   * overwritten.
+   *
+   * @param data the data containing the range to deinterleave
+   * @param offset the index of the first byte to deinterleave
+   * @param length the number of bytes to deinterleave
+   * @param scratch a scratch array of at least {@code length} bytes
+   * @throws IndexOutOfBoundsException if the range is outside the bounds of the data
+   * @throws IllegalArgumentException if the scratch array is shorter than {@code length}
+   * @see #deinterleave(byte[])
+   */
+  public static void deinterleave(byte[] data, int offset, int length, byte[] scratch) {
+    checkRange(offset, length, data.length);
+    checkScratch(scratch, length);
+    deinterleave(data, offset, scratch, 0, length);
+    System.arraycopy(scratch, 0, data, offset, length);
   }
 
   /**
@@ -97,11 +146,7 @@ public final class EncryptionUtils {
    * @param data the data to flip most significant bits on
    */
   public static void flipMsb(byte[] data) {
-    for (int i = 0; i < data.length; ++i) {
-      if ((data[i] & 0x7F) != 0) {
-        data[i] = (byte) (data[i] ^ 0x80);
-      }
-    }
+    flipMsb(data, 0, data.length);
   }
 
   /**
@@ -130,22 +175,138 @@ public final class EncryptionUtils {
       return;
     }
 
-    int sequenceLength = 0;
-
-    for (int i = 0; i <= data.length; ++i) {
-      if (i != data.length && Byte.toUnsignedInt(data[i]) % multiple == 0) {
-        ++sequenceLength;
-      } else {
-        if (sequenceLength > 1) {
-          for (int ii = 0; ii < sequenceLength / 2; ++ii) {
-            byte b = data[i - sequenceLength + ii];
-            data[i - sequenceLength + ii] = data[i - ii - 1];
-            data[i - ii - 1] = b;
-          }
-        }
+    swapMultiples(data, 0, data.length, multiplesTable(multiple));
+  }
 
-        sequenceLength = 0;
+  /**
+   * Flips the most significant bit of each byte in a word, except in {@code 0} and {@code 128}.
+   *
+   * <p>Adding {@code 0x7F} to the low 7 bits of a byte sets its high bit if any of them are set,
+   * without carrying into the next byte.
+   */
+  private static long flipMsb(long word) {
+    return word ^ (((word & LOW_BITS) + LOW_BITS) & HIGH_BITS);
+  }
+
+  private static byte flipMsb(byte b) {
+    return (byte) (b ^ (((b & 0x7F) + 0x7F) & 0x80));
+  }
+
+  /**
+   * Gets the table of byte values that are divisible by a multiple. The table must not be modified.
+   *
+   * @param multiple the multiple value, which must not be negative
+   * @return the byte values divisible by the multiple, as a 256-bit set
+   */
+  static long[] multiplesTable(int multiple) {
+    return MULTIPLES_TABLES[Math.min(multiple, MULTIPLES_TABLES.length - 1)];
+  }
+
+  private static boolean isMultiple(long[] multiples, byte b) {
+    int value = Byte.toUnsignedInt(b);
+    return (multiples[value >>> 6] & (1L << value)) != 0;
+  }
+
+  private static long[][] createMultiplesTables() {
+    long[][] tables = new long[257][4];
+    // The table for 0 is empty, since swapping multiples of 0 leaves the data unchanged.
+    for (int multiple = 1; multiple < tables.length; ++multiple) {
+      for (int value = 0; value < 256; value += multiple) {
+        tables[multiple][value >>> 6] |= 1L << value;
+      }
+    }
+    return tables;
+  }
+
+  /**
+   * Interleaves a range of bytes from one array into another. The ranges must not overlap.
+   *
+   * <p>The first half of the source is gathered into the even indices of the target, and the second
+   * half into the odd indices in reverse order.
+   */
+  static void interleave(
+      byte[] source, int sourceOffset, byte[] target, int targetOffset, int length) {
+    int i = sourceOffset;
+    int end = targetOffset + length;
+
+    for (int j = targetOffset; j < end; j += 2) {
+      target[j] = source[i++];
+    }
+
+    for (int j = end - 1 - length % 2; j > targetOffset; j -= 2) {
+      target[j] = source[i++];
+    }
+  }
+
+  /**
+   * Deinterleaves a range of bytes from one array into another. The ranges must not overlap.
+   *
+   * @see #interleave(byte[], int, byte[], int, int)
+   */
+  static void deinterleave(
+      byte[] source, int sourceOffset, byte[] target, int targetOffset, int length) {
+    int j = targetOffset;
+    int end = sourceOffset + length;
+
+    for (int i = sourceOffset; i < end; i += 2) {
+      target[j++] = source[i];
+    }
+
+    for (int i = end - 1 - length % 2; i > sourceOffset; i -= 2) {
+      target[j++] = source[i];
+    }
+  }
+
+  /** Flips the most significant bits of each byte in a range, 8 bytes at a time. */
+  static void flipMsb(byte[] data, int offset, int length) {
+    int i = offset;
+    int end = offset + length;
+
+    for (; i + Long.BYTES <= end; i += Long.BYTES) {
+      ByteArrays.putLong(data, i, flipMsb(ByteArrays.getLong(data, i)));
+    }
+
+    for (; i < end; ++i) {
+      data[i] = flipMsb(data[i]);
+    }
+  }
+
+  /** Swaps multiples in a range of bytes, using a table from {@link #multiplesTable}. */
+  static void swapMultiples(byte[] data, int offset, int length, long[] multiples) {
+    int end = offset + length;
+    int sequenceStart = offset;
+
+    for (int i = offset; i < end; ++i) {
+      if (!isMultiple(multiples, data[i])) {
+        if (i - sequenceStart > 1) {
+          reverse(data, sequenceStart, i);
+        }
+        sequenceStart = i + 1;
       }
     }
+
+    reverse(data, sequenceStart, end);
+  }
+
+  private static void reverse(byte[] data, int from, int to) {
+    for (--to; from < to; ++from, --to) {
+      byte b = data[from];
+      data[from] = data[to];
+      data[to] = b;
+    }
+  }
+
+  private static void checkScratch(byte[] scratch, int length) {
+    if (scratch.length < length) {
+      throw new IllegalArgumentException(
+          "scratch array of length " + scratch.length + " is shorter than " + length);
+    }
+  }
+
+  static void checkRange(int offset, int length, int limit) {
+    if (offset < 0 || length < 0 || length > limit - offset) {
+      throw new IndexOutOfBoundsException(
+          "offset " + offset + ", length " + length + ", limit " + limit);
+    }
   }
 }
@@ -0,0 +1,233 @@
+package dev.cirras.encrypt;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encrypts and decrypts EO packets in place, using the encryption multiples of a connection.
+ *
+ * <p>Packets are encrypted by {@link EncryptionUtils#swapMultiples swapping multiples}, {@link
+ * EncryptionUtils#flipMsb flipping most significant bits} and then {@link
+ * EncryptionUtils#interleave interleaving}, and decrypted by reversing those steps. The packet is
+ * copied into a scratch array where multiples are swapped and most significant bits are flipped 8
+ * bytes at a time, and interleaving then gathers the result straight back into the packet.
+ * Decryption runs the same passes in the opposite direction. The scratch array is kept for each
+ * thread, so packets are processed without allocating once it has grown to fit them.
+ *
+ * <p>Each packet is expected to be framed, starting with its 2-byte length. The length is never
+ * encrypted. Packets with the {@code INIT} family and action ({@code 0xFF 0xFF}) are not encrypted
+ * either, and are left unchanged.
+ *
+ * <p>{@code PacketCipher} instances are immutable, so a single cipher can be shared across threads.
+ */
+public final class PacketCipher {
+  private static final int HEADER_SIZE = 2;
+
+  /**
+   * Scratch space kept per thread, so that a shared cipher does not allocate for every packet. It
+   * grows to fit the largest packet seen by the thread.
+   */
+  private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[0]);
+
+  private final int encryptionMultiple;
+  private final int decryptionMultiple;
+  private final long[] encryptionMultiples;
+  private final long[] decryptionMultiples;
+
+  /**
+   * Creates a new {@code PacketCipher} instance with the specified encryption multiples.
+   *
+   * @param encryptionMultiple the multiple used to encrypt outgoing packets
+   * @param decryptionMultiple the multiple used to decrypt incoming packets
+   * @throws IllegalArgumentException if either multiple is negative
+   */
+  public PacketCipher(int encryptionMultiple, int decryptionMultiple) {
+    if (encryptionMultiple < 0 || decryptionMultiple < 0) {
+      throw new IllegalArgumentException("multiple must be a positive number");
+    }
+    this.encryptionMultiple = encryptionMultiple;
+    this.decryptionMultiple = decryptionMultiple;
+    this.encryptionMultiples = EncryptionUtils.multiplesTable(encryptionMultiple);
+    this.decryptionMultiples = EncryptionUtils.multiplesTable(decryptionMultiple);
+  }
+
+  /**
+   * Gets the multiple used to encrypt outgoing packets.
+   *
+   * @return the encryption multiple
+   */
+  public int getEncryptionMultiple() {
+    return encryptionMultiple;
+  }
+
+  /**
+   * Gets the multiple used to decrypt incoming packets.
+   *
+   * @return the decryption multiple
+   */
+  public int getDecryptionMultiple() {
+    return decryptionMultiple;
+  }
+
+  /**
+   * Encrypts a framed packet.
+   *
+   * <p>This is an in-place operation.
+   *
+   * @param packet the framed packet to encrypt
+   */
+  public void encrypt(byte[] packet) {
+    encrypt(packet, 0, packet.length);
+  }
+
+  /**
+   * Encrypts a framed packet within a range of a byte array.
+   *
+   * <p>This is an in-place operation.
+   *
+   * @param data the byte array containing the framed packet
+   * @param offset the index of the first byte of the framed packet
+   * @param length the length of the framed packet, including its 2-byte length
+   * @throws IndexOutOfBoundsException if the range is outside the bounds of the array
+   */
+  public void encrypt(byte[] data, int offset, int length) {
+    EncryptionUtils.checkRange(offset, length, data.length);
+    if (isEncrypted(data, offset, length)) {
+      encrypt(data, offset, length, scratch(length), 0);
+    }
+  }
+
+  /**
+   * Encrypts a framed packet within a range of a buffer.
+   *
+   * <p>This is an in-place operation. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer containing the framed packet
+   * @param index the index of the first byte of the framed packet
+   * @param length the length of the framed packet, including its 2-byte length
+   * @throws IndexOutOfBoundsException if the range is outside the limit of the buffer
+   */
+  public void encrypt(ByteBuffer buffer, int index, int length) {
+    EncryptionUtils.checkRange(index, length, buffer.limit());
+    if (!isEncrypted(buffer, index, length)) {
+      return;
+    }
+    if (buffer.hasArray()) {
+      encrypt(buffer.array(), buffer.arrayOffset() + index, length, scratch(length), 0);
+    } else {
+      byte[] scratch = copyToScratch(buffer, index, length);
+      encrypt(scratch, 0, length, scratch, length);
+      copyFromScratch(scratch, buffer, index, length);
+    }
+  }
+
+  /**
+   * Decrypts a framed packet.
+   *
+   * <p>This is an in-place operation.
+   *
+   * @param packet the framed packet to decrypt
+   */
+  public void decrypt(byte[] packet) {
+    decrypt(packet, 0, packet.length);
+  }
+
+  /**
+   * Decrypts a framed packet within a range of a byte array.
+   *
+   * <p>This is an in-place operation.
+   *
+   * @param data the byte array containing the framed packet
+   * @param offset the index of the first byte of the framed packet
+   * @param length the length of the framed packet, including its 2-byte length
+   * @throws IndexOutOfBoundsException if the range is outside the bounds of the array
+   */
+  public void decrypt(byte[] data, int offset, int length) {
+    EncryptionUtils.checkRange(offset, length, data.length);
+    if (isEncrypted(data, offset, length)) {
+      decrypt(data, offset, length, scratch(length), 0);
+    }
+  }
+
+  /**
+   * Decrypts a framed packet within a range of a buffer.
+   *
+   * <p>This is an in-place operation. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer containing the framed packet
+   * @param index the index of the first byte of the framed packet
+   * @param length the length of the framed packet, including its 2-byte length
+   * @throws IndexOutOfBoundsException if the range is outside the limit of the buffer
+   */
+  public void decrypt(ByteBuffer buffer, int index, int length) {
+    EncryptionUtils.checkRange(index, length, buffer.limit());
+    if (!isEncrypted(buffer, index, length)) {
+      return;
+    }
+    if (buffer.hasArray()) {
+      decrypt(buffer.array(), buffer.arrayOffset() + index, length, scratch(length), 0);
+    } else {
+      byte[] scratch = copyToScratch(buffer, index, length);
+      decrypt(scratch, 0, length, scratch, length);
+      copyFromScratch(scratch, buffer, index, length);
+    }
+  }
+
+  private void encrypt(byte[] data, int offset, int length, byte[] scratch, int scratchOffset) {
+    int from = offset + HEADER_SIZE;
+    int size = length - HEADER_SIZE;
+    System.arraycopy(data, from, scratch, scratchOffset, size);
+    EncryptionUtils.swapMultiples(scratch, scratchOffset, size, encryptionMultiples);
+    EncryptionUtils.flipMsb(scratch, scratchOffset, size);
+    EncryptionUtils.interleave(scratch, scratchOffset, data, from, size);
+  }
+
+  private void decrypt(byte[] data, int offset, int length, byte[] scratch, int scratchOffset) {
+    int from = offset + HEADER_SIZE;
+    int size = length - HEADER_SIZE;
+    EncryptionUtils.deinterleave(data, from, scratch, scratchOffset, size);
+    EncryptionUtils.flipMsb(scratch, scratchOffset, size);
+    EncryptionUtils.swapMultiples(scratch, scratchOffset, size, decryptionMultiples);
+    System.arraycopy(scratch, scratchOffset, data, from, size);
+  }
+
+  /**
+   * Copies a framed packet out of a buffer that is not backed by an accessible array, into the
+   * first half of a scratch array. The second half is left for the cipher to use as scratch space.
+   */
+  private static byte[] copyToScratch(ByteBuffer buffer, int index, int length) {
+    byte[] scratch = scratch(2 * length);
+    ByteBuffer view = buffer.duplicate();
+    view.position(index);
+    view.get(scratch, 0, length);
+    return scratch;
+  }
+
+  private static void copyFromScratch(byte[] scratch, ByteBuffer buffer, int index, int length) {
+    ByteBuffer view = buffer.duplicate();
+    view.position(index);
+    view.put(scratch, 0, length);
+  }
+
+  private static byte[] scratch(int size) {
+    byte[] scratch = SCRATCH.get();
+    if (scratch.length < size) {
+      scratch = new byte[size];
+      SCRATCH.set(scratch);
+    }
+    return scratch;
+  }
+
+  private static boolean isEncrypted(byte[] data, int offset, int length) {
+    return length > HEADER_SIZE
+        && !(length >= HEADER_SIZE + 2
+            && data[offset + HEADER_SIZE] == (byte) 0xFF
+            && data[offset + HEADER_SIZE + 1] == (byte) 0xFF);
+  }
+
+  private static boolean isEncrypted(ByteBuffer buffer, int index, int length) {
+    return length > HEADER_SIZE
+        && !(length >= HEADER_SIZE + 2
+            && buffer.get(index + HEADER_SIZE) == (byte) 0xFF
+            && buffer.get(index + HEADER_SIZE + 1) == (byte) 0xFF);
+  }
+}
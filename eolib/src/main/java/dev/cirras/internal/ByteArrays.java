@@ -0,0 +1,84 @@
+package dev.cirras.internal;
+
+/**
+ * A utility class for low-level access to byte arrays.
+ *
+ * <p>This class is public so that it can be shared by the packages of this library. It is not part
+ * of the public API, and may change or be removed at any time.
+ *
+ * <p>This is the Java 8 implementation. A Java 17 implementation is packaged under {@code
+ * META-INF/versions/17} in the multi-release JAR, and must behave identically.
+ */
+public final class ByteArrays {
+  private ByteArrays() {
+    // utility class
+  }
+
+  /**
+   * Reads 8 bytes from a byte array as a little-endian {@code long}.
+   *
+   * @param array the byte array
+   * @param index the index of the first byte
+   * @return the {@code long} value
+   * @throws IndexOutOfBoundsException if the 8 bytes are outside the bounds of the array
+   */
+  public static long getLong(byte[] array, int index) {
+    return (array[index] & 0xFFL)
+        | (array[index + 1] & 0xFFL) << 8
+        | (array[index + 2] & 0xFFL) << 16
+        | (array[index + 3] & 0xFFL) << 24
+        | (array[index + 4] & 0xFFL) << 32
+        | (array[index + 5] & 0xFFL) << 40
+        | (array[index + 6] & 0xFFL) << 48
+        | (array[index + 7] & 0xFFL) << 56;
+  }
+
+  /**
+   * Writes a {@code long} to a byte array as 8 little-endian bytes.
+   *
+   * @param array the byte array
+   * @param index the index of the first byte
+   * @param value the {@code long} value
+   * @throws IndexOutOfBoundsException if the 8 bytes are outside the bounds of the array
+   */
+  public static void putLong(byte[] array, int index, long value) {
+    // Write the last byte first, so that nothing is written if the range is out of bounds.
+    array[index + 7] = (byte) (value >>> 56);
+    array[index] = (byte) value;
+    array[index + 1] = (byte) (value >>> 8);
+    array[index + 2] = (byte) (value >>> 16);
+    array[index + 3] = (byte) (value >>> 24);
+    array[index + 4] = (byte) (value >>> 32);
+    array[index + 5] = (byte) (value >>> 40);
+    array[index + 6] = (byte) (value >>> 48);
+  }
+
+  /**
+   * Checks whether two ranges of byte arrays are equal.
+   *
+   * @param a the first byte array
+   * @param aIndex the index of the first byte in the first array
+   * @param b the second byte array
+   * @param bIndex the index of the first byte in the second array
+   * @param length the number of bytes to compare
+   * @return true if the ranges contain the same bytes
+   * @throws IndexOutOfBoundsException if either range is outside the bounds of its array, or the
+   *     length is negative
+   */
+  public static boolean equals(byte[] a, int aIndex, byte[] b, int bIndex, int length) {
+    if (aIndex < 0
+        || bIndex < 0
+        || length < 0
+        || length > a.length - aIndex
+        || length > b.length - bIndex) {
+      throw new IndexOutOfBoundsException(
+          "a index " + aIndex + ", b index " + bIndex + ", length " + length);
+    }
+    for (int i = 0; i < length; ++i) {
+      if (a[aIndex + i] != b[bIndex + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,75 @@
+package dev.cirras.packet;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread-safe class for generating packet sequences.
+ *
+ * <p>This behaves like {@link PacketSequencer}, but can be shared by any number of threads without
+ * locking. The sequence start value and the sequence counter are held together in a single atomic
+ * word, so {@link #nextSequence()} and {@link #setSequenceStart(SequenceStart)} are linearizable
+ * and lock-free.
+ *
+ * @see PacketSequencer
+ */
+public final class ConcurrentPacketSequencer {
+  /** The sequence start value in the high 32 bits, and the sequence counter in the low 32 bits. */
+  private final AtomicLong state;
+
+  /**
+   * Constructs a new {@code ConcurrentPacketSequencer} with the provided {@code SequenceStart}.
+   *
+   * @param start the sequence start
+   */
+  public ConcurrentPacketSequencer(SequenceStart start) {
+    this.state = new AtomicLong(pack(start.getValue(), 0));
+  }
+
+  /**
+   * Returns the next sequence value, updating the sequence counter in the process.
+   *
+   * <p><b>Note:</b> This is not a monotonic operation. The sequence counter increases from 0 to 9
+   * before looping back around to 0.
+   *
+   * @return the next sequence value
+   */
+  public int nextSequence() {
+    while (true) {
+      long current = state.get();
+      int start = start(current);
+      int counter = counter(current);
+      if (state.compareAndSet(current, pack(start, (counter + 1) % 10))) {
+        return start + counter;
+      }
+    }
+  }
+
+  /**
+   * Sets the sequence start, also known as the "starting counter ID".
+   *
+   * <p><b>Note:</b> This does not reset the sequence counter.
+   *
+   * @param start the new sequence start
+   */
+  public void setSequenceStart(SequenceStart start) {
+    int value = start.getValue();
+    while (true) {
+      long current = state.get();
+      if (state.compareAndSet(current, pack(value, counter(current)))) {
+        return;
+      }
+    }
+  }
+
+  private static long pack(int start, int counter) {
+    return (long) start << 32 | counter;
+  }
+
+  private static int start(long state) {
+    return (int) (state >>> 32);
+  }
+
+  private static int counter(long state) {
+    return (int) state;
+  }
+}
@@ -24,4 +24,12 @@ public interface Packet {
    * @param writer the writer that this packet will be serialized to
    */
   void serialize(EoWriter writer);
+
+  /**
+   * Returns the number of bytes that {@link #serialize} would write for this packet, without
+   * serializing it.
+   *
+   * @return the serialized size of this packet, in bytes
+   */
+  int serializedSize();
 }
@@ -0,0 +1,38 @@
+package dev.cirras.internal;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A utility class for low-level access to byte arrays.
+ *
+ * <p>This is the Java 17 implementation, which uses a {@link VarHandle} byte array view for word
+ * access and the intrinsic range overloads of {@link Arrays} for comparisons. It replaces the Java
+ * 8 implementation at runtime, and must behave identically.
+ */
+public final class ByteArrays {
+  private static final VarHandle LONG =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private ByteArrays() {
+    // utility class
+  }
+
+  public static long getLong(byte[] array, int index) {
+    return (long) LONG.get(array, index);
+  }
+
+  public static void putLong(byte[] array, int index, long value) {
+    LONG.set(array, index, value);
+  }
+
+  public static boolean equals(byte[] a, int aIndex, byte[] b, int bIndex, int length) {
+    // Arrays.equals throws IllegalArgumentException for a negative length, so check first.
+    Objects.checkFromIndexSize(aIndex, length, a.length);
+    Objects.checkFromIndexSize(bIndex, length, b.length);
+    return Arrays.equals(a, aIndex, aIndex + length, b, bIndex, bIndex + length);
+  }
+}
@@ -0,0 +1,122 @@
+package dev.cirras.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+class BreakScannerTest {
+  private static class BufferArgumentsProvider implements ArgumentsProvider {
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+      return Stream.of(
+          Arguments.of(false, ByteOrder.BIG_ENDIAN),
+          Arguments.of(false, ByteOrder.LITTLE_ENDIAN),
+          Arguments.of(true, ByteOrder.BIG_ENDIAN),
+          Arguments.of(true, ByteOrder.LITTLE_ENDIAN));
+    }
+  }
+
+  @ParameterizedTest(name = "direct={0}, order={1}")
+  @ArgumentsSource(BufferArgumentsProvider.class)
+  void testIndexOfBreak(boolean direct, ByteOrder order) {
+    Random random = new Random(123);
+    for (int iteration = 0; iteration < 2000; ++iteration) {
+      ByteBuffer buffer = createRandomBuffer(random, direct, order);
+      int from = random.nextInt(buffer.limit() + 1);
+      int to = from + random.nextInt(buffer.limit() - from + 1);
+      assertThat(BreakScanner.indexOfBreak(buffer, from, to))
+          .isEqualTo(naiveIndexOfBreak(buffer, from, to));
+    }
+  }
+
+  @ParameterizedTest(name = "direct={0}, order={1}")
+  @ArgumentsSource(BufferArgumentsProvider.class)
+  void testLastIndexOfBreak(boolean direct, ByteOrder order) {
+    Random random = new Random(456);
+    for (int iteration = 0; iteration < 2000; ++iteration) {
+      ByteBuffer buffer = createRandomBuffer(random, direct, order);
+      int from = random.nextInt(buffer.limit() + 1);
+      int to = from + random.nextInt(buffer.limit() - from + 1);
+      assertThat(BreakScanner.lastIndexOfBreak(buffer, from, to))
+          .isEqualTo(naiveLastIndexOfBreak(buffer, from, to));
+    }
+  }
+
+  @ParameterizedTest(name = "direct={0}, order={1}")
+  @ArgumentsSource(BufferArgumentsProvider.class)
+  void testIndicesOfBreaks(boolean direct, ByteOrder order) {
+    Random random = new Random(789);
+    for (int iteration = 0; iteration < 500; ++iteration) {
+      ByteBuffer buffer = createRandomBuffer(random, direct, order);
+      List<Integer> expected = new ArrayList<>();
+      for (int i = 0; i < buffer.limit(); ++i) {
+        if (buffer.get(i) == (byte) 0xFF) {
+          expected.add(i);
+        }
+      }
+      int[] actual = BreakScanner.indicesOfBreaks(buffer, 0, buffer.limit());
+      assertThat(actual).containsExactly(expected.stream().mapToInt(i -> i).toArray());
+    }
+  }
+
+  @Test
+  void testSlicedBuffer() {
+    Random random = new Random(1011);
+    for (int iteration = 0; iteration < 2000; ++iteration) {
+      ByteBuffer parent = createRandomBuffer(random, false, ByteOrder.BIG_ENDIAN);
+      parent.position(random.nextInt(parent.limit() + 1));
+      ByteBuffer buffer = parent.slice();
+      int from = random.nextInt(buffer.limit() + 1);
+      int to = from + random.nextInt(buffer.limit() - from + 1);
+      assertThat(BreakScanner.indexOfBreak(buffer, from, to))
+          .isEqualTo(naiveIndexOfBreak(buffer, from, to));
+      assertThat(BreakScanner.lastIndexOfBreak(buffer, from, to))
+          .isEqualTo(naiveLastIndexOfBreak(buffer, from, to));
+    }
+  }
+
+  private static ByteBuffer createRandomBuffer(Random random, boolean direct, ByteOrder order) {
+    int length = random.nextInt(64);
+    ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(length) : ByteBuffer.allocate(length);
+    buffer.order(order);
+
+    // Mostly 0xFE/0x7F/0x80 bytes, which are the most likely to trip up the bit tricks.
+    byte[] candidates = new byte[] {(byte) 0xFF, (byte) 0xFE, 0x7F, (byte) 0x80, 0x00, 0x01};
+    for (int i = 0; i < length; ++i) {
+      boolean rareBreak = random.nextInt(8) != 0;
+      int candidate = random.nextInt(candidates.length - (rareBreak ? 1 : 0)) + (rareBreak ? 1 : 0);
+      buffer.put(i, candidates[candidate]);
+    }
+
+    return buffer;
+  }
+
+  private static int naiveIndexOfBreak(ByteBuffer buffer, int from, int to) {
+    for (int i = from; i < to; ++i) {
+      if (buffer.get(i) == (byte) 0xFF) {
+        return i;
+      }
+    }
+    return to;
+  }
+
+  private static int naiveLastIndexOfBreak(ByteBuffer buffer, int from, int to) {
+    for (int i = to - 1; i >= from; --i) {
+      if (buffer.get(i) == (byte) 0xFF) {
+        return i;
+      }
+    }
+    return from - 1;
+  }
+}
@@ -0,0 +1,78 @@
+package dev.cirras.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+class BufferAllocatorTest {
+  @Test
+  void testHeap() {
+    ByteBuffer buffer = BufferAllocator.HEAP.allocate(10);
+    assertThat(buffer.isDirect()).isFalse();
+    assertThat(buffer.remaining()).isEqualTo(10);
+  }
+
+  @Test
+  void testDirect() {
+    ByteBuffer buffer = BufferAllocator.DIRECT.allocate(10);
+    assertThat(buffer.isDirect()).isTrue();
+    assertThat(buffer.remaining()).isEqualTo(10);
+  }
+
+  @Test
+  void testPooledReusesBuffers() {
+    BufferAllocator allocator = BufferAllocator.pooled(BufferAllocator.HEAP, 16, 2);
+
+    ByteBuffer first = allocator.allocate(16);
+    ByteBuffer second = allocator.allocate(4);
+    assertThat(first.capacity()).isEqualTo(16);
+    assertThat(second.capacity()).isEqualTo(16);
+
+    first.position(5).limit(10);
+    allocator.release(first);
+    allocator.release(second);
+
+    ByteBuffer reused = allocator.allocate(8);
+    assertThat(reused).isSameAs(first);
+    assertThat(reused.position()).isZero();
+    assertThat(reused.remaining()).isEqualTo(16);
+    assertThat(allocator.allocate(16)).isSameAs(second);
+    assertThat(allocator.allocate(16)).isNotSameAs(first).isNotSameAs(second);
+  }
+
+  @Test
+  void testPooledIsBounded() {
+    BufferAllocator allocator = BufferAllocator.pooled(BufferAllocator.HEAP, 16, 1);
+
+    ByteBuffer first = allocator.allocate(16);
+    ByteBuffer second = allocator.allocate(16);
+    allocator.release(first);
+    allocator.release(second);
+
+    assertThat(allocator.allocate(16)).isSameAs(first);
+    assertThat(allocator.allocate(16)).isNotSameAs(second);
+  }
+
+  @Test
+  void testPooledDoesNotPoolOversizedBuffers() {
+    BufferAllocator allocator = BufferAllocator.pooled(BufferAllocator.DIRECT, 16, 2);
+
+    ByteBuffer oversized = allocator.allocate(17);
+    assertThat(oversized.isDirect()).isTrue();
+    assertThat(oversized.capacity()).isEqualTo(17);
+
+    allocator.release(oversized);
+    assertThat(allocator.allocate(16)).isNotSameAs(oversized);
+    assertThat(allocator.allocate(17)).isNotSameAs(oversized);
+  }
+
+  @Test
+  void testPooledInvalidArguments() {
+    assertThatThrownBy(() -> BufferAllocator.pooled(BufferAllocator.HEAP, 0, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> BufferAllocator.pooled(BufferAllocator.HEAP, 1, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -2,8 +2,23 @@ package dev.cirras.data;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -35,6 +50,13 @@ class EoReaderTest {
     assertThat(reader.getChunkedReadingMode()).isTrue();
   }
 
+  @Test
+  void testSliceOfSlice() {
+    EoReader reader = createReader(0x01, 0x02, 0x03, 0x04, 0x05, 0x06);
+    EoReader reader2 = reader.slice(1).slice(1, 3).slice(1);
+    assertThat(reader2.getBytes(10)).inHexadecimal().containsExactly(0x04, 0x05);
+  }
+
   @Test
   void testSliceOverRead() {
     EoReader reader = createReader(0x01, 0x02, 0x03);
@@ -56,6 +78,156 @@ class EoReaderTest {
     assertThatThrownBy(() -> reader.slice(0, -1)).isInstanceOf(IndexOutOfBoundsException.class);
   }
 
+  @Test
+  void testSliceInto() {
+    EoReader reader = createReader(0x01, 0x02, 0x03, 0x04, 0x05, 0x06);
+    reader.getByte();
+    reader.setChunkedReadingMode(true);
+
+    EoReader reader2 = createReader(0xFF, 0xFF);
+    reader2.getByte();
+    reader2.setChunkedReadingMode(true);
+
+    assertThat(reader.sliceInto(reader2)).isSameAs(reader2);
+    assertThat(reader2.getPosition()).isZero();
+    assertThat(reader2.getRemaining()).isEqualTo(5);
+    assertThat(reader2.getChunkedReadingMode()).isFalse();
+    assertThat(reader2.getByte()).isEqualTo(0x02);
+
+    assertThat(reader.sliceInto(reader2, 2)).isSameAs(reader2);
+    assertThat(reader2.getRemaining()).isEqualTo(4);
+    assertThat(reader2.getByte()).isEqualTo(0x03);
+
+    assertThat(reader.sliceInto(reader2, 3, 2)).isSameAs(reader2);
+    assertThat(reader2.getRemaining()).isEqualTo(2);
+    assertThat(reader2.getBytes(3)).containsExactly(0x04, 0x05);
+
+    assertThat(reader.getPosition()).isEqualTo(1);
+    assertThat(reader.getRemaining()).isEqualTo(5);
+    assertThat(reader.getChunkedReadingMode()).isTrue();
+  }
+
+  @Test
+  void testSliceIntoSelf() {
+    EoReader reader = createReader(0x01, 0x02, 0x03, 0x04, 0x05, 0x06);
+    reader.sliceInto(reader, 1, 4);
+    reader.sliceInto(reader, 1);
+    assertThat(reader.getRemaining()).isEqualTo(3);
+    assertThat(reader.getBytes(3)).containsExactly(0x03, 0x04, 0x05);
+  }
+
+  @Test
+  void testSliceIntoNegativeIndex() {
+    EoReader reader = createReader(0x01, 0x02, 0x03);
+    EoReader reader2 = createReader();
+    assertThatThrownBy(() -> reader.sliceInto(reader2, -1, 1))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void testSliceIntoNegativeLength() {
+    EoReader reader = createReader(0x01, 0x02, 0x03);
+    EoReader reader2 = createReader();
+    assertThatThrownBy(() -> reader.sliceInto(reader2, 0, -1))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void testReset() {
+    EoReader reader = createReader(0xFF, 0x01, 0xFF);
+    reader.cacheBreakPositions();
+    reader.setChunkedReadingMode(true);
+    reader.nextChunk();
+
+    reader.reset(toBytes("abcÿdef"));
+    assertThat(reader.getPosition()).isZero();
+    assertThat(reader.getRemaining()).isEqualTo(7);
+    assertThat(reader.getChunkedReadingMode()).isFalse();
+
+    reader.setChunkedReadingMode(true);
+    assertThat(reader.getString()).isEqualTo("abc");
+    reader.nextChunk();
+    assertThat(reader.getString()).isEqualTo("def");
+  }
+
+  @Test
+  void testResetWithOffsetAndLength() {
+    EoReader reader = createReader();
+    reader.reset(toBytes("xxabcÿdefxx"), 2, 7);
+    assertThat(reader.getRemaining()).isEqualTo(7);
+
+    reader.setChunkedReadingMode(true);
+    assertThat(reader.getString()).isEqualTo("abc");
+    reader.nextChunk();
+    assertThat(reader.getString()).isEqualTo("def");
+  }
+
+  @Test
+  void testResetWithInvalidOffsetAndLength() {
+    EoReader reader = createReader();
+    byte[] data = new byte[5];
+    assertThatThrownBy(() -> reader.reset(data, -1, 1))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> reader.reset(data, 0, -1))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> reader.reset(data, 3, 3))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void testResetWithByteBuffer() {
+    EoReader reader = createReader(0x01, 0x02);
+
+    ByteBuffer heapBuffer = ByteBuffer.wrap(toBytes("xxabcÿdef"));
+    heapBuffer.position(2);
+    reader.reset(heapBuffer);
+    reader.setChunkedReadingMode(true);
+    assertThat(reader.getString()).isEqualTo("abc");
+    reader.nextChunk();
+    assertThat(reader.getString()).isEqualTo("def");
+
+    ByteBuffer directBuffer = ByteBuffer.allocateDirect(4);
+    directBuffer.put(toBytes("ghÿi")).flip();
+    reader.reset(directBuffer);
+    reader.setChunkedReadingMode(true);
+    assertThat(reader.getString()).isEqualTo("gh");
+    reader.nextChunk();
+    assertThat(reader.getString()).isEqualTo("i");
+
+    reader.reset(toBytes("jk"));
+    assertThat(reader.getString()).isEqualTo("jk");
+  }
+
+  @Test
+  void testReuseDoesNotAllocate() {
+    ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean allocationMXBean =
+        (com.sun.management.ThreadMXBean) threadMXBean;
+    assumeTrue(allocationMXBean.isThreadAllocatedMemorySupported());
+    allocationMXBean.setThreadAllocatedMemoryEnabled(true);
+
+    int iterations = 10_000;
+    byte[] data = new byte[] {0x01, 0x02, 0x03, 0x04, 0x05, 0x06};
+    EoReader reader = createReader();
+    EoReader slice = createReader();
+
+    long threadId = Thread.currentThread().getId();
+    long allocatedBefore = allocationMXBean.getThreadAllocatedBytes(threadId);
+
+    int sum = 0;
+    for (int i = 0; i < iterations; ++i) {
+      reader.reset(data, 1, 5);
+      sum += reader.getChar();
+      sum += reader.sliceInto(slice).getInt();
+    }
+
+    long allocated = allocationMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+    assertThat(sum).isNotZero();
+    assertThat(allocated).isLessThan(iterations);
+  }
+
   @ParameterizedTest(name = "getByte() should return {0}")
   @ValueSource(ints = {0x00, 0x01, 0x02, 0x80, 0xFD, 0xFE, 0xFF})
   void testGetByte(int byteValue) {
@@ -143,6 +315,123 @@ class EoReaderTest {
     assertThat(reader.getInt()).isEqualTo((int) 4_097_152_080L);
   }
 
+  @Test
+  void testGetNumberArrays() {
+    assertThat(createReader(0x7C, 0x01).getChars(2)).containsExactly(123, 0);
+    assertThat(createReader(0xCA, 0x31, 0x01, 0xFE).getShorts(2)).containsExactly(12345, 0);
+    assertThat(createReader(0xB0, 0x3A, 0x9D).getThrees(1)).containsExactly(10_000_000);
+    assertThat(createReader(0x7F, 0x7F, 0x7F, 0x7F).getInts(1)).containsExactly(2_048_576_040);
+    assertThat(createReader(0x01).getChars(0)).isEmpty();
+  }
+
+  @Test
+  void testGetNumberArraysMatchesSingleReads() {
+    byte[] data = new byte[1000];
+    for (int i = 0; i < data.length; ++i) {
+      data[i] = (byte) (i * 7 % 256);
+    }
+
+    for (int size = 1; size <= 4; ++size) {
+      EoReader expected = new EoReader(data);
+      int[] expectedNumbers = new int[300];
+      for (int i = 0; i < expectedNumbers.length; ++i) {
+        switch (size) {
+          case 1:
+            expectedNumbers[i] = expected.getChar();
+            break;
+          case 2:
+            expectedNumbers[i] = expected.getShort();
+            break;
+          case 3:
+            expectedNumbers[i] = expected.getThree();
+            break;
+          default:
+            expectedNumbers[i] = expected.getInt();
+            break;
+        }
+      }
+
+      ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+      buffer.put(data).flip();
+
+      for (EoReader actual : new EoReader[] {new EoReader(data), new EoReader(buffer)}) {
+        int[] actualNumbers;
+        switch (size) {
+          case 1:
+            actualNumbers = actual.getChars(expectedNumbers.length);
+            break;
+          case 2:
+            actualNumbers = actual.getShorts(expectedNumbers.length);
+            break;
+          case 3:
+            actualNumbers = actual.getThrees(expectedNumbers.length);
+            break;
+          default:
+            actualNumbers = actual.getInts(expectedNumbers.length);
+            break;
+        }
+        assertThat(actualNumbers).containsExactly(expectedNumbers);
+        assertThat(actual.getPosition()).isEqualTo(expected.getPosition());
+      }
+    }
+  }
+
+  @Test
+  void testGetNumberArraysOverRead() {
+    EoReader reader = createReader(0xCA, 0x31, 0xCA);
+    assertThat(reader.getShorts(3)).containsExactly(12345, 201, 0);
+    assertThat(reader.getRemaining()).isZero();
+  }
+
+  @Test
+  void testGetNumberArraysInChunkedReadingMode() {
+    EoReader reader = createReader(0xCA, 0x31, 0xCA, 0xFF, 0x7C);
+    reader.setChunkedReadingMode(true);
+    assertThat(reader.getShorts(2)).containsExactly(12345, 201);
+    reader.nextChunk();
+    assertThat(reader.getChars(1)).containsExactly(123);
+  }
+
+  @Test
+  void testGetNegativeCountNumberArray() {
+    EoReader reader = createReader(0x01);
+    assertThatThrownBy(() -> reader.getShorts(-1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void testGetNumbersDoesNotAllocate() {
+    ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean allocationMXBean =
+        (com.sun.management.ThreadMXBean) threadMXBean;
+    assumeTrue(allocationMXBean.isThreadAllocatedMemorySupported());
+    allocationMXBean.setThreadAllocatedMemoryEnabled(true);
+
+    int iterations = 10_000;
+    byte[] data = new byte[iterations * 10];
+    for (int i = 0; i < data.length; ++i) {
+      data[i] = (byte) (i % 253 + 1);
+    }
+    EoReader reader = new EoReader(data);
+
+    long threadId = Thread.currentThread().getId();
+    long allocatedBefore = allocationMXBean.getThreadAllocatedBytes(threadId);
+
+    int sum = 0;
+    for (int i = 0; i < iterations; ++i) {
+      sum += reader.getChar();
+      sum += reader.getShort();
+      sum += reader.getThree();
+      sum += reader.getInt();
+    }
+
+    long allocated = allocationMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+    assertThat(sum).isNotZero();
+    assertThat(reader.getRemaining()).isZero();
+    assertThat(allocated).isLessThan(iterations);
+  }
+
   @Test
   void testGetString() {
     EoReader reader = createReader("Hello, World!");
@@ -163,6 +452,12 @@ class EoReaderTest {
     assertThat(reader.getFixedString(6, true)).isEqualTo("bar");
   }
 
+  @Test
+  void testGetStringWithHighCharacters() {
+    EoReader reader = createReader(0x80, 0x41, 0x81, 0x99, 0xE9);
+    assertThat(reader.getString()).isEqualTo("€A\uFFFD™é");
+  }
+
   @Test
   void testChunkedGetString() {
     EoReader reader = createReader("Hello,ÿWorld!");
@@ -202,6 +497,12 @@ class EoReaderTest {
     assertThat(reader.getFixedEncodedString(3, true)).isEqualTo("baz");
   }
 
+  @Test
+  void testGetEncodedStringWithHighCharacters() {
+    EoReader reader = createReader("OŸO D OëäL 7YïëSO UööG öU'Ö");
+    assertThat(reader.getEncodedString()).isEqualTo("Öxxö Xööx \"Lëïth Säë\" - \"Ÿ\"");
+  }
+
   @Test
   void testChunkedGetEncodedString() {
     EoReader reader = createReader("E0a3hWÿ!;a-^H");
@@ -220,6 +521,124 @@ class EoReaderTest {
         .isExactlyInstanceOf(IllegalArgumentException.class);
   }
 
+  @Test
+  void testGetCharSequence() {
+    EoReader reader = createReader("foobarÿÿÿÿÿ!;a-^H s^3a:)");
+    assertThat(reader.getLazyStringMode()).isFalse();
+    assertThat(reader.getFixedCharSequence(3)).isInstanceOf(String.class).hasToString("foo");
+    assertThat(reader.getFixedCharSequence(8, true)).isInstanceOf(String.class).hasToString("bar");
+    assertThat(reader.getEncodedCharSequence())
+        .isInstanceOf(String.class)
+        .hasToString("Hello, World!");
+  }
+
+  @Test
+  void testGetCharSequenceInLazyStringMode() {
+    EoReader reader = createReader("foobarÿÿÿÿÿÿ0^9ÿÿÿ-l=Hello");
+    reader.setLazyStringMode(true);
+
+    CharSequence foo = reader.getFixedCharSequence(3);
+    CharSequence bar = reader.getFixedCharSequence(8, true);
+    CharSequence encodedFoo = reader.getFixedEncodedCharSequence(4, true);
+    CharSequence encodedBar = reader.getFixedEncodedCharSequence(6, true);
+    CharSequence hello = reader.getCharSequence();
+
+    assertThat(foo).isInstanceOf(LazyString.class);
+    assertThat(((LazyString) foo).isDecoded()).isFalse();
+    assertThat(bar.length()).isEqualTo(3);
+    assertThat(encodedFoo.length()).isEqualTo(3);
+    assertThat(reader.getRemaining()).isZero();
+
+    assertThat(foo).hasToString("foo");
+    assertThat(bar).hasToString("bar");
+    assertThat(encodedFoo).hasToString("foo");
+    assertThat(encodedBar).hasToString("bar");
+    assertThat(hello).hasToString("Hello");
+  }
+
+  @Test
+  void testChunkedGetCharSequenceInLazyStringMode() {
+    EoReader reader = createReader("!;a-^H s^3a:)ÿfoo");
+    reader.setLazyStringMode(true);
+    reader.setChunkedReadingMode(true);
+
+    CharSequence hello = reader.getEncodedCharSequence();
+    reader.nextChunk();
+    CharSequence foo = reader.getCharSequence();
+
+    assertThat(hello).hasToString("Hello, World!");
+    assertThat(foo).hasToString("foo");
+  }
+
+  @Test
+  void testLazyStringModeIsPreservedAndInherited() {
+    EoReader reader = createReader(0x01, 0x02, 0x03);
+    reader.setLazyStringMode(true);
+
+    assertThat(reader.slice().getLazyStringMode()).isTrue();
+    assertThat(createReader().getLazyStringMode()).isFalse();
+    assertThat(reader.sliceInto(createReader()).getLazyStringMode()).isTrue();
+
+    reader.reset(new byte[] {0x04});
+    assertThat(reader.getLazyStringMode()).isTrue();
+  }
+
+  @Test
+  void testNegativeLengthCharSequence() {
+    EoReader reader = createReader("foo");
+    assertThatThrownBy(() -> reader.getFixedCharSequence(-1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> reader.getFixedEncodedCharSequence(-1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void testSkip() {
+    EoReader reader = createReader(0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08, 0x09, 0x0A);
+    reader.skip(0);
+    assertThat(reader.getPosition()).isZero();
+    reader.skipChar();
+    assertThat(reader.getPosition()).isEqualTo(1);
+    reader.skipShort();
+    assertThat(reader.getPosition()).isEqualTo(3);
+    reader.skipThree();
+    assertThat(reader.getPosition()).isEqualTo(6);
+    reader.skip(1);
+    assertThat(reader.getByte()).isEqualTo(0x08);
+    reader.skipInt();
+    assertThat(reader.getPosition()).isEqualTo(10);
+    assertThat(reader.getRemaining()).isZero();
+  }
+
+  @Test
+  void testSkipString() {
+    EoReader reader = createReader("fooÿbar");
+    reader.setChunkedReadingMode(true);
+    reader.skipString();
+    assertThat(reader.getPosition()).isEqualTo(3);
+    reader.nextChunk();
+    reader.setChunkedReadingMode(false);
+    reader.skipString();
+    assertThat(reader.getRemaining()).isZero();
+  }
+
+  @Test
+  void testSkipStopsAtEndOfChunk() {
+    EoReader reader = createReader(0x01, 0x02, 0xFF, 0x03);
+    reader.setChunkedReadingMode(true);
+    reader.skipInt();
+    assertThat(reader.getPosition()).isEqualTo(2);
+    reader.nextChunk();
+    reader.skip(100);
+    assertThat(reader.getPosition()).isEqualTo(4);
+  }
+
+  @Test
+  void testSkipNegativeLength() {
+    EoReader reader = createReader(0x01);
+    assertThatThrownBy(() -> reader.skip(-1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
   @Test
   void testSetChunkedReadingMode() {
     EoReader reader = createReader();
@@ -287,6 +706,78 @@ class EoReaderTest {
     assertThat(reader.getPosition()).isEqualTo(8);
   }
 
+  @Test
+  void testNextChunkWithCachedBreakPositions() {
+    EoReader reader = createReader(0x01, 0x02, 0xFF, 0x03, 0x04, 0x5, 0xFF, 0x06);
+    reader.cacheBreakPositions();
+    reader.setChunkedReadingMode(true);
+
+    assertThat(reader.getRemaining()).isEqualTo(2);
+
+    reader.nextChunk();
+    assertThat(reader.getPosition()).isEqualTo(3);
+    assertThat(reader.getRemaining()).isEqualTo(3);
+
+    reader.nextChunk();
+    assertThat(reader.getPosition()).isEqualTo(7);
+    assertThat(reader.getRemaining()).isEqualTo(1);
+
+    reader.nextChunk();
+    assertThat(reader.getPosition()).isEqualTo(8);
+    assertThat(reader.getRemaining()).isZero();
+  }
+
+  @Test
+  void testDoubleReadWithCachedBreakPositions() {
+    EoReader reader = createReader(0xFF, 0x7C, 0xCA, 0x31);
+    reader.cacheBreakPositions();
+
+    assertThat(reader.getInt()).isEqualTo(790222478);
+
+    reader.setChunkedReadingMode(true);
+    reader.nextChunk();
+
+    assertThat(reader.getChar()).isEqualTo(123);
+    assertThat(reader.getShort()).isEqualTo(12345);
+  }
+
+  @Test
+  void testPaddedStringsWithCachedBreakPositions() {
+    EoReader reader = createReader("fooÿbarÿÿÿÿ0^9ÿÿÿ-l=");
+    reader.cacheBreakPositions();
+    assertThat(reader.getFixedString(4, true)).isEqualTo("foo");
+    assertThat(reader.getFixedString(6, true)).isEqualTo("bar");
+    assertThat(reader.getFixedEncodedString(4, true)).isEqualTo("foo");
+    assertThat(reader.getFixedEncodedString(6, true)).isEqualTo("bar");
+  }
+
+  @Test
+  void testChunkedReadingOverLongChunks() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 50; ++i) {
+      for (int j = 0; j < i; ++j) {
+        builder.append((char) ('a' + j % 26));
+      }
+      builder.append('ÿ');
+    }
+    String data = builder.toString();
+
+    EoReader reader = createReader(data);
+    EoReader cachedReader = createReader(data);
+    cachedReader.cacheBreakPositions();
+
+    reader.setChunkedReadingMode(true);
+    cachedReader.setChunkedReadingMode(true);
+
+    for (int i = 0; i < 50; ++i) {
+      String chunk = reader.getString();
+      assertThat(chunk).hasSize(i);
+      assertThat(cachedReader.getString()).isEqualTo(chunk);
+      reader.nextChunk();
+      cachedReader.nextChunk();
+    }
+  }
+
   @Test
   void testNextChunkNotInChunkedReadingMode() {
     EoReader reader = createReader(0x01, 0x02, 0xFF, 0x03, 0x04, 0x5, 0xFF, 0x06);
@@ -359,9 +850,335 @@ class EoReaderTest {
     assertThat(reader.getShort()).isEqualTo(12345);
   }
 
+  @Test
+  void testHeapByteBuffer() {
+    ByteBuffer buffer = ByteBuffer.wrap(toBytes("__fooÿbarÿÿ"), 2, 9).slice();
+    buffer.position(1);
+
+    EoReader reader = new EoReader(buffer);
+    assertThat(reader.getRemaining()).isEqualTo(8);
+    reader.setChunkedReadingMode(true);
+    assertThat(reader.getString()).isEqualTo("oo");
+    reader.nextChunk();
+    assertThat(reader.getString()).isEqualTo("bar");
+
+    assertThat(buffer.position()).isEqualTo(1);
+    assertThat(buffer.remaining()).isEqualTo(8);
+  }
+
+  @Test
+  void testReadOnlyByteBuffer() {
+    ByteBuffer buffer = ByteBuffer.wrap(toBytes("!;a-^H s^3a:)")).asReadOnlyBuffer();
+    EoReader reader = new EoReader(buffer);
+    assertThat(reader.getEncodedString()).isEqualTo("Hello, World!");
+  }
+
+  @Test
+  void testDirectByteBuffer() {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+    buffer.put(new byte[] {0x00, 0x00, (byte) 0xCA, 0x31, (byte) 0xFF, 0x7C, 0x01, 0x02});
+    buffer.flip();
+    buffer.position(2);
+
+    EoReader reader = new EoReader(buffer);
+    reader.setChunkedReadingMode(true);
+    assertThat(reader.getShort()).isEqualTo(12345);
+    assertThat(reader.getRemaining()).isZero();
+    reader.nextChunk();
+    assertThat(reader.getChar()).isEqualTo(123);
+
+    EoReader slice = reader.slice();
+    assertThat(slice.getBytes(5)).inHexadecimal().containsExactly(0x01, 0x02);
+    assertThat(reader.getPosition()).isEqualTo(4);
+    assertThat(buffer.position()).isEqualTo(2);
+  }
+
+  @Test
+  void testDirectByteBufferStrings() {
+    byte[] bytes = toBytes("fooÿbarÿÿÿÿ0^9ÿÿÿ-l=");
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes);
+    buffer.flip();
+
+    EoReader reader = new EoReader(buffer);
+    assertThat(reader.getFixedString(4, true)).isEqualTo("foo");
+    assertThat(reader.getFixedString(6, true)).isEqualTo("bar");
+    assertThat(reader.getFixedEncodedString(4, true)).isEqualTo("foo");
+    assertThat(reader.getFixedEncodedString(6, true)).isEqualTo("bar");
+  }
+
+  @Test
+  void testMappedByteBuffer() throws IOException {
+    Path file = Files.createTempFile("eoreader", ".bin");
+    try {
+      Files.write(file, toBytes("E0a3hWÿ!;a-^H"));
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        EoReader reader = new EoReader(buffer);
+        reader.setChunkedReadingMode(true);
+        assertThat(reader.getEncodedString()).isEqualTo("Hello,");
+        reader.nextChunk();
+        assertThat(reader.getEncodedString()).isEqualTo("World!");
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  void testStreamingReader() {
+    byte[] data = toBytes("fooÿbarÿÿ0^9");
+    EoReader reader = new EoReader(new ByteArrayInputStream(data), data.length);
+    assertThat(reader.getRemaining()).isEqualTo(data.length);
+    reader.setChunkedReadingMode(true);
+    assertThat(reader.getString()).isEqualTo("foo");
+    reader.nextChunk();
+    assertThat(reader.getString()).isEqualTo("bar");
+    reader.nextChunk();
+    reader.setChunkedReadingMode(false);
+    assertThat(reader.getFixedEncodedString(4, true)).isEqualTo("foo");
+    assertThat(reader.getRemaining()).isZero();
+  }
+
+  @ParameterizedTest(name = "bufferSize={0}")
+  @ValueSource(ints = {1, 2, 3, 7, 16, 64})
+  void testStreamingReaderMatchesArrayReader(int bufferSize) {
+    Random random = new Random(bufferSize);
+    for (int iteration = 0; iteration < 300; ++iteration) {
+      byte[] data = new byte[random.nextInt(100)];
+      for (int i = 0; i < data.length; ++i) {
+        data[i] = (byte) (random.nextInt(8) == 0 ? 0xFF : random.nextInt(0xFF));
+      }
+
+      EoReader expected = new EoReader(data);
+      EoReader actual =
+          new EoReader(createChannel(data, 1 + random.nextInt(8)), data.length, bufferSize);
+
+      for (int step = 0; step < 30; ++step) {
+        int operation = random.nextInt(12);
+        int length = random.nextInt(10);
+        boolean flag = random.nextBoolean();
+        Object actualResult;
+        try {
+          actualResult = readRandomly(actual, operation, length, flag);
+        } catch (IllegalStateException e) {
+          // A double read, which needs data that the streaming reader has already discarded.
+          int position = expected.getPosition();
+          expected.nextChunk();
+          assertThat(expected.getPosition()).isLessThan(position);
+          break;
+        }
+        assertThat(actualResult).isEqualTo(readRandomly(expected, operation, length, flag));
+        assertThat(actual.getPosition()).isEqualTo(expected.getPosition());
+        assertThat(actual.getRemaining()).isEqualTo(expected.getRemaining());
+      }
+    }
+  }
+
+  @Test
+  void testStreamingReaderDoubleRead() {
+    byte[] data = new byte[] {(byte) 0xFF, 0x7C, (byte) 0xCA, 0x31, 0x01, 0x02, 0x03, 0x04};
+    EoReader reader = new EoReader(createChannel(data, 1), data.length, data.length);
+
+    reader.skip(6);
+    assertThat(reader.getShort()).isEqualTo(761);
+    reader.setChunkedReadingMode(true);
+    reader.nextChunk();
+
+    assertThat(reader.getChar()).isEqualTo(123);
+    assertThat(reader.getShort()).isEqualTo(12345);
+  }
+
+  @Test
+  void testStreamingReaderDoubleReadIntoDiscardedData() {
+    byte[] data = new byte[] {(byte) 0xFF, 0x7C, (byte) 0xCA, 0x31, 0x01, 0x02, 0x03, 0x04};
+    EoReader reader = new EoReader(createChannel(data, 1), data.length, 2);
+
+    reader.skip(6);
+    assertThat(reader.getShort()).isEqualTo(761);
+    reader.setChunkedReadingMode(true);
+    assertThat(reader.getRemaining()).isZero();
+    assertThatThrownBy(reader::nextChunk).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void testStreamingReaderEndsEarly() {
+    byte[] data = toBytes("foobar");
+    EoReader reader = new EoReader(new ByteArrayInputStream(data), 10);
+    assertThat(reader.getFixedString(4)).isEqualTo("foob");
+    assertThat(reader.getFixedString(4)).isEqualTo("ar");
+    assertThat(reader.getPosition()).isEqualTo(6);
+    assertThat(reader.getRemaining()).isZero();
+  }
+
+  @Test
+  void testStreamingReaderLazyStringMode() {
+    byte[] data = toBytes("foobar");
+    EoReader reader = new EoReader(createChannel(data, 1), data.length, 1);
+    reader.setLazyStringMode(true);
+    assertThat(reader.getFixedCharSequence(3)).isInstanceOf(String.class).hasToString("foo");
+    assertThat(reader.getCharSequence()).isInstanceOf(String.class).hasToString("bar");
+  }
+
+  @Test
+  void testStreamingReaderIOException() {
+    ReadableByteChannel channel =
+        new ReadableByteChannel() {
+          @Override
+          public int read(ByteBuffer dst) throws IOException {
+            throw new IOException("broken");
+          }
+
+          @Override
+          public boolean isOpen() {
+            return true;
+          }
+
+          @Override
+          public void close() {}
+        };
+
+    EoReader reader = new EoReader(channel, 4);
+    assertThatThrownBy(reader::getInt)
+        .isInstanceOf(UncheckedIOException.class)
+        .hasMessageContaining("broken");
+  }
+
+  @Test
+  void testStreamingReaderUnsupportedOperations() {
+    EoReader reader = new EoReader(new ByteArrayInputStream(new byte[4]), 4);
+    assertThatThrownBy(reader::slice).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> reader.sliceInto(new EoReader(new byte[0])))
+        .isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(reader::cacheBreakPositions)
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void testStreamingReaderInvalidArguments() {
+    ReadableByteChannel channel = createChannel(new byte[0], 1);
+    assertThatThrownBy(() -> new EoReader(channel, -1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new EoReader(channel, 0, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void testResetStreamingReader() {
+    EoReader reader = new EoReader(new ByteArrayInputStream(toBytes("foo")), 3);
+    reader.reset(toBytes("bar"));
+    assertThat(reader.slice().getString()).isEqualTo("bar");
+  }
+
+  @Test
+  void testStringCache() {
+    StringCache cache = new StringCache(16);
+    EoReader reader = createReader("fooÿfooÿÿÿ0^9ÿ0^9");
+    reader.setStringCache(cache);
+    assertThat(reader.getStringCache()).isSameAs(cache);
+
+    String first = reader.getFixedString(4, true);
+    assertThat(first).isEqualTo("foo");
+    assertThat(reader.getFixedString(5, true)).isSameAs(first);
+
+    String encoded = reader.getFixedEncodedString(4, true);
+    assertThat(encoded).isEqualTo("foo").isNotSameAs(first);
+    assertThat(reader.getFixedEncodedString(4, true)).isSameAs(encoded);
+
+    assertThat(cache.getHitCount()).isEqualTo(2);
+    assertThat(cache.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  void testStringCacheIsInheritedAndPreserved() {
+    StringCache cache = new StringCache(16);
+    EoReader reader = createReader("foo");
+    reader.setStringCache(cache);
+
+    assertThat(reader.slice().getStringCache()).isSameAs(cache);
+    assertThat(reader.sliceInto(new EoReader(new byte[0])).getStringCache()).isSameAs(cache);
+
+    reader.reset(toBytes("bar"));
+    assertThat(reader.getStringCache()).isSameAs(cache);
+  }
+
+  @Test
+  void testStringCacheNotUsedForLazyStrings() {
+    StringCache cache = new StringCache(16);
+    EoReader reader = createReader("foo");
+    reader.setStringCache(cache);
+    reader.setLazyStringMode(true);
+
+    assertThat(reader.getCharSequence()).isInstanceOf(LazyString.class).hasToString("foo");
+    assertThat(cache.getMissCount()).isZero();
+  }
+
+  private static Object readRandomly(EoReader reader, int operation, int length, boolean flag) {
+    switch (operation) {
+      case 0:
+        return reader.getByte();
+      case 1:
+        return reader.getChar();
+      case 2:
+        return reader.getShort();
+      case 3:
+        return reader.getInt();
+      case 4:
+        return Arrays.toString(reader.getBytes(length));
+      case 5:
+        return Arrays.toString(reader.getThrees(length));
+      case 6:
+        return reader.getFixedString(length, flag);
+      case 7:
+        return reader.getFixedEncodedString(length, flag);
+      case 8:
+        return flag ? reader.getString() : reader.getEncodedString();
+      case 9:
+        reader.skip(length);
+        return null;
+      case 10:
+        reader.setChunkedReadingMode(flag);
+        return null;
+      default:
+        if (reader.getChunkedReadingMode()) {
+          reader.nextChunk();
+        }
+        return null;
+    }
+  }
+
+  private static ReadableByteChannel createChannel(byte[] data, int maxReadLength) {
+    // Returns short reads, like a socket or pipe.
+    return new ReadableByteChannel() {
+      private int position;
+
+      @Override
+      public int read(ByteBuffer dst) {
+        if (position == data.length) {
+          return -1;
+        }
+        int length = Math.min(Math.min(dst.remaining(), maxReadLength), data.length - position);
+        dst.put(data, position, length);
+        position += length;
+        return length;
+      }
+
+      @Override
+      public boolean isOpen() {
+        return true;
+      }
+
+      @Override
+      public void close() {}
+    };
+  }
+
+  private static byte[] toBytes(String string) {
+    return string.getBytes(Charset.forName("windows-1252"));
+  }
+
   private static EoReader createReader(String string) {
-    byte[] data = string.getBytes(Charset.forName("windows-1252"));
-    return new EoReader(data);
+    return new EoReader(toBytes(string));
   }
 
   private static EoReader createReader(int... bytes) {
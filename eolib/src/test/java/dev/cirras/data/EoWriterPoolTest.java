@@ -0,0 +1,135 @@
+package dev.cirras.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class EoWriterPoolTest {
+  @Test
+  void testThreadLocalPoolReusesWriter() {
+    EoWriterPool pool = EoWriterPool.threadLocal(64, 1024);
+
+    EoWriter writer = pool.acquire();
+    writer.addString("foo");
+    writer.setStringSanitizationMode(true);
+    pool.release(writer);
+
+    EoWriter reused = pool.acquire();
+    assertThat(reused).isSameAs(writer);
+    assertThat(reused.getLength()).isZero();
+    assertThat(reused.getStringSanitizationMode()).isFalse();
+    assertThat(reused.getCapacity()).isEqualTo(64);
+  }
+
+  @Test
+  void testThreadLocalPoolNestedAcquire() {
+    EoWriterPool pool = EoWriterPool.threadLocal(64, 1024);
+
+    EoWriter outer = pool.acquire();
+    EoWriter inner = pool.acquire();
+    assertThat(inner).isNotSameAs(outer);
+
+    pool.release(inner);
+    pool.release(outer);
+    assertThat(pool.acquire()).isSameAs(inner);
+    assertThat(pool.acquire()).isNotSameAs(outer);
+  }
+
+  @Test
+  void testThreadLocalPoolIsPerThread() throws InterruptedException, ExecutionException {
+    EoWriterPool pool = EoWriterPool.threadLocal(64, 1024);
+    EoWriter writer = pool.acquire();
+    pool.release(writer);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      assertThat(executor.submit(pool::acquire).get()).isNotSameAs(writer);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testSharedPoolReusesWriters() {
+    EoWriterPool pool = EoWriterPool.shared(2, 64, 1024);
+
+    EoWriter first = pool.acquire();
+    EoWriter second = pool.acquire();
+    EoWriter third = pool.acquire();
+    pool.release(first);
+    pool.release(second);
+    pool.release(third);
+
+    // The pool only retains 2 writers.
+    assertThat(pool.acquire()).isSameAs(first);
+    assertThat(pool.acquire()).isSameAs(second);
+    assertThat(pool.acquire()).isNotSameAs(third);
+  }
+
+  @Test
+  void testMaxRetainedCapacity() {
+    EoWriterPool threadLocalPool = EoWriterPool.threadLocal(16, 32);
+    EoWriterPool sharedPool = EoWriterPool.shared(4, 16, 32);
+
+    for (EoWriterPool pool : new EoWriterPool[] {threadLocalPool, sharedPool}) {
+      EoWriter small = pool.acquire();
+      small.addBytes(new byte[32]);
+      pool.release(small);
+      assertThat(pool.acquire()).isSameAs(small);
+
+      EoWriter large = pool.acquire();
+      large.addBytes(new byte[33]);
+      pool.release(large);
+      assertThat(pool.acquire()).isNotSameAs(large);
+    }
+  }
+
+  @Test
+  void testSharedPoolConcurrentAccess() throws InterruptedException, ExecutionException {
+    EoWriterPool pool = EoWriterPool.shared(4, 16, 1024);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < 4; ++thread) {
+        int value = thread;
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < 10_000; ++i) {
+                    EoWriter writer = pool.acquire();
+                    writer.addChar(value);
+                    writer.addShort(i);
+                    assertThat(writer.toByteArray())
+                        .containsExactly(
+                            NumberEncodingUtils.encodeNumber(value)[0],
+                            NumberEncodingUtils.encodeNumber(i)[0],
+                            NumberEncodingUtils.encodeNumber(i)[1]);
+                    pool.release(writer);
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testInvalidArguments() {
+    assertThatThrownBy(() -> EoWriterPool.threadLocal(-1, 16))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> EoWriterPool.threadLocal(16, -1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> EoWriterPool.shared(0, 16, 16))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -3,8 +3,21 @@ package dev.cirras.data;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 
 class EoWriterTest {
@@ -50,6 +63,83 @@ class EoWriterTest {
     assertThat(writer.toByteArray()).inHexadecimal().containsExactly(0x7F, 0x7F, 0x7F, 0x7F);
   }
 
+  @Test
+  void testAddChars() {
+    EoWriter writer = new EoWriter();
+    writer.addChars(new int[] {0, 123, 252});
+    writer.addChars(Arrays.asList(1, 2));
+    assertThat(writer.toByteArray()).inHexadecimal().containsExactly(0x01, 0x7C, 0xFD, 0x02, 0x03);
+  }
+
+  @Test
+  void testAddShorts() {
+    EoWriter writer = new EoWriter();
+    writer.addShorts(new int[] {12345, 0});
+    writer.addShorts(Arrays.asList(12345));
+    assertThat(writer.toByteArray())
+        .inHexadecimal()
+        .containsExactly(0xCA, 0x31, 0x01, 0xFE, 0xCA, 0x31);
+  }
+
+  @Test
+  void testAddThrees() {
+    EoWriter writer = new EoWriter();
+    writer.addThrees(new int[] {10_000_000});
+    writer.addThrees(Arrays.asList(10_000_000));
+    assertThat(writer.toByteArray())
+        .inHexadecimal()
+        .containsExactly(0xB0, 0x3A, 0x9D, 0xB0, 0x3A, 0x9D);
+  }
+
+  @Test
+  void testAddInts() {
+    EoWriter writer = new EoWriter();
+    writer.addInts(new int[] {2_048_576_040});
+    writer.addInts(Arrays.asList(0));
+    assertThat(writer.toByteArray())
+        .inHexadecimal()
+        .containsExactly(0x7F, 0x7F, 0x7F, 0x7F, 0x01, 0xFE, 0xFE, 0xFE);
+  }
+
+  @Test
+  void testAddNumberArraysMatchesSingleAdds() {
+    int[] numbers = new int[100];
+    for (int i = 0; i < numbers.length; ++i) {
+      numbers[i] = i * 20_000_017;
+    }
+
+    EoWriter expected = new EoWriter();
+    for (int number : numbers) {
+      expected.addInt(number);
+      expected.addThree(number % (EoNumericLimits.THREE_MAX - 1));
+    }
+
+    EoWriter actual = new EoWriter();
+    for (int number : numbers) {
+      actual.addInts(new int[] {number});
+      actual.addThrees(Arrays.asList(number % (EoNumericLimits.THREE_MAX - 1)));
+    }
+
+    assertThat(actual.toByteArray()).containsExactly(expected.toByteArray());
+  }
+
+  @Test
+  void testAddNumberArraysExceedingLimit() {
+    EoWriter writer = new EoWriter();
+    writer.addByte(0x01);
+
+    assertThatThrownBy(() -> writer.addChars(new int[] {1, 253}))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> writer.addShorts(Arrays.asList(1, 64009)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> writer.addThrees(new int[] {1, 16194277}))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> writer.addInts(Arrays.asList(1, -1)))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    assertThat(writer.toByteArray()).containsExactly(0x01);
+  }
+
   @Test
   void testAddString() {
     EoWriter writer = new EoWriter();
@@ -57,6 +147,30 @@ class EoWriterTest {
     assertThat(writer.toByteArray()).containsExactly(toBytes("foo"));
   }
 
+  @Test
+  void testStringOverloadsAreKeptForBinaryCompatibility() throws NoSuchMethodException {
+    // Code compiled against earlier versions links against the String descriptors.
+    EoWriter.class.getMethod("addString", String.class);
+    EoWriter.class.getMethod("addFixedString", String.class, int.class);
+    EoWriter.class.getMethod("addFixedString", String.class, int.class, boolean.class);
+    EoWriter.class.getMethod("addEncodedString", String.class);
+    EoWriter.class.getMethod("addFixedEncodedString", String.class, int.class);
+    EoWriter.class.getMethod("addFixedEncodedString", String.class, int.class, boolean.class);
+  }
+
+  @Test
+  void testAddStringFromCharSequence() {
+    EoWriter writer = new EoWriter();
+    writer.addString(new StringBuilder("foo"));
+    writer.addFixedEncodedString(new StringBuilder("bar"), 5, true);
+
+    EoWriter expected = new EoWriter();
+    expected.addString("foo");
+    expected.addFixedEncodedString("bar", 5, true);
+
+    assertThat(writer.toByteArray()).isEqualTo(expected.toByteArray());
+  }
+
   @Test
   void testAddFixedString() {
     EoWriter writer = new EoWriter();
@@ -204,6 +318,93 @@ class EoWriterTest {
     assertThat(writer.getStringSanitizationMode()).isTrue();
   }
 
+  @Test
+  void testGetTrustedMode() {
+    EoWriter writer = new EoWriter();
+    assertThat(writer.getTrustedMode()).isFalse();
+    writer.setTrustedMode(true);
+    assertThat(writer.getTrustedMode()).isTrue();
+    writer.reset();
+    assertThat(writer.getTrustedMode()).isFalse();
+  }
+
+  @Test
+  void testTrustedModeRoundTrip() {
+    for (boolean trustedMode : new boolean[] {false, true}) {
+      Random random = new Random(42);
+      int[] bytes = new int[100];
+      int[] chars = new int[100];
+      int[] shorts = new int[100];
+      int[] threes = new int[100];
+      int[] ints = new int[100];
+      String[] strings = new String[100];
+
+      EoWriter writer = new EoWriter();
+      writer.setTrustedMode(trustedMode);
+      writer.addPlaceholder(4);
+      for (int i = 0; i < 100; ++i) {
+        bytes[i] = random.nextInt(0x100);
+        chars[i] = random.nextInt(EoNumericLimits.CHAR_MAX);
+        shorts[i] = random.nextInt(EoNumericLimits.SHORT_MAX);
+        threes[i] = random.nextInt(EoNumericLimits.THREE_MAX);
+        ints[i] = random.nextInt(Integer.MAX_VALUE);
+        strings[i] = Integer.toString(random.nextInt(), 36);
+
+        writer.addByte(bytes[i]);
+        writer.addChar(chars[i]);
+        writer.addShort(shorts[i]);
+        writer.addThree(threes[i]);
+        writer.addInt(ints[i]);
+        writer.addFixedString(strings[i], 8, true);
+        writer.addFixedEncodedString(strings[i], strings[i].length());
+      }
+      writer.addShorts(shorts);
+      writer.setInt(0, ints[0]);
+
+      EoReader reader = new EoReader(writer.toByteArray());
+      assertThat(reader.getInt()).isEqualTo(ints[0]);
+      for (int i = 0; i < 100; ++i) {
+        assertThat(reader.getByte() & 0xFF).isEqualTo(bytes[i]);
+        assertThat(reader.getChar()).isEqualTo(chars[i]);
+        assertThat(reader.getShort()).isEqualTo(shorts[i]);
+        assertThat(reader.getThree()).isEqualTo(threes[i]);
+        assertThat(reader.getInt()).isEqualTo(ints[i]);
+        assertThat(reader.getFixedString(8, true)).isEqualTo(strings[i]);
+        assertThat(reader.getFixedEncodedString(strings[i].length())).isEqualTo(strings[i]);
+      }
+      assertThat(reader.getShorts(100)).containsExactly(shorts);
+      assertThat(reader.getRemaining()).isZero();
+    }
+  }
+
+  @Test
+  void testTrustedModeSkipsNumberChecks() {
+    EoWriter writer = new EoWriter();
+    writer.setTrustedMode(true);
+
+    writer.addChar(EoNumericLimits.CHAR_MAX);
+    writer.addShort(EoNumericLimits.SHORT_MAX);
+    writer.addThree(EoNumericLimits.THREE_MAX);
+    writer.addInt(-1);
+    writer.addShorts(new int[] {-1, EoNumericLimits.SHORT_MAX});
+    writer.addChars(Arrays.asList(-1, EoNumericLimits.CHAR_MAX));
+    writer.setShort(1, -1);
+
+    assertThat(writer.getLength()).isEqualTo(16);
+  }
+
+  @Test
+  void testTrustedModeChecksStringLength() {
+    EoWriter writer = new EoWriter();
+    writer.setTrustedMode(true);
+
+    assertThatThrownBy(() -> writer.addFixedString("foo", 2))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> writer.addFixedEncodedString("foo", 2, true))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(writer.getLength()).isZero();
+  }
+
   @Test
   void testGetLength() {
     EoWriter writer = new EoWriter();
@@ -218,6 +419,700 @@ class EoWriterTest {
     assertThat(writer.getLength()).isEqualTo(100);
   }
 
+  @Test
+  void testHeapByteBuffer() {
+    byte[] array = new byte[40];
+    ByteBuffer buffer = ByteBuffer.wrap(array, 2, 36).slice();
+    buffer.position(1);
+
+    EoWriter writer = new EoWriter(buffer);
+    writeSample(writer);
+
+    assertThat(writer.getBuffer()).isSameAs(buffer);
+    assertThat(writer.toByteArray()).containsExactly(sampleBytes());
+    assertThat(Arrays.copyOfRange(array, 3, 3 + writer.getLength())).containsExactly(sampleBytes());
+    assertThat(buffer.position()).isEqualTo(1);
+    assertThat(buffer.limit()).isEqualTo(36);
+  }
+
+  @Test
+  void testDirectByteBuffer() {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(32);
+    buffer.position(4);
+
+    EoWriter writer = new EoWriter(buffer);
+    writeSample(writer);
+
+    assertThat(writer.getBuffer()).isSameAs(buffer);
+    assertThat(writer.toByteArray()).containsExactly(sampleBytes());
+
+    byte[] written = new byte[writer.getLength()];
+    ByteBuffer view = buffer.duplicate();
+    view.get(written);
+    assertThat(written).containsExactly(sampleBytes());
+    assertThat(buffer.position()).isEqualTo(4);
+  }
+
+  @Test
+  void testByteBufferGrowth() {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(2);
+
+    EoWriter writer = new EoWriter(buffer);
+    writeSample(writer);
+
+    assertThat(writer.getBuffer()).isNotSameAs(buffer);
+    assertThat(writer.getBuffer().isDirect()).isTrue();
+    assertThat(writer.toByteArray()).containsExactly(sampleBytes());
+  }
+
+  @Test
+  void testBufferAllocator() {
+    List<ByteBuffer> allocated = new ArrayList<>();
+    List<ByteBuffer> released = new ArrayList<>();
+    BufferAllocator allocator =
+        new BufferAllocator() {
+          @Override
+          public ByteBuffer allocate(int capacity) {
+            ByteBuffer result = ByteBuffer.allocate(capacity + 3);
+            result.position(3);
+            allocated.add(result);
+            return result;
+          }
+
+          @Override
+          public void release(ByteBuffer buffer) {
+            released.add(buffer);
+          }
+        };
+
+    ByteBuffer buffer = ByteBuffer.allocate(4);
+    EoWriter writer = new EoWriter(buffer, allocator);
+    writeSample(writer);
+
+    assertThat(allocated).isNotEmpty();
+    assertThat(writer.getBuffer()).isSameAs(allocated.get(allocated.size() - 1));
+    assertThat(released.get(0)).isSameAs(buffer);
+    assertThat(released).hasSize(allocated.size());
+    assertThat(writer.toByteArray()).containsExactly(sampleBytes());
+  }
+
+  @Test
+  void testBufferAllocatorReturnsSmallBuffer() {
+    EoWriter writer = new EoWriter(ByteBuffer.allocate(1), capacity -> ByteBuffer.allocate(1));
+    writer.addByte(0x01);
+    assertThatThrownBy(() -> writer.addByte(0x02)).isInstanceOf(IllegalStateException.class);
+    assertThat(writer.toByteArray()).containsExactly(0x01);
+  }
+
+  @Test
+  void testReadOnlyByteBuffer() {
+    ByteBuffer buffer = ByteBuffer.allocate(4).asReadOnlyBuffer();
+    assertThatThrownBy(() -> new EoWriter(buffer)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void testGetBufferWithoutByteBuffer() {
+    assertThat(new EoWriter().getBuffer()).isNull();
+  }
+
+  @Test
+  void testAddNumbersDoesNotAllocate() {
+    ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean allocationMXBean =
+        (com.sun.management.ThreadMXBean) threadMXBean;
+    assumeTrue(allocationMXBean.isThreadAllocatedMemorySupported());
+    allocationMXBean.setThreadAllocatedMemoryEnabled(true);
+
+    int iterations = 10_000;
+    EoWriter arrayWriter = new EoWriter(ByteBuffer.allocate(iterations * 10));
+    EoWriter bufferWriter = new EoWriter(ByteBuffer.allocateDirect(iterations * 10));
+
+    long threadId = Thread.currentThread().getId();
+    long allocatedBefore = allocationMXBean.getThreadAllocatedBytes(threadId);
+
+    for (int i = 0; i < iterations; ++i) {
+      arrayWriter.addChar(i % 253);
+      arrayWriter.addShort(i);
+      arrayWriter.addThree(i * 1000);
+      arrayWriter.addInt(i * 100_000);
+      bufferWriter.addChar(i % 253);
+      bufferWriter.addShort(i);
+      bufferWriter.addThree(i * 1000);
+      bufferWriter.addInt(i * 100_000);
+    }
+
+    long allocated = allocationMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+    assertThat(arrayWriter.getLength()).isEqualTo(iterations * 10);
+    assertThat(bufferWriter.toByteArray()).containsExactly(arrayWriter.toByteArray());
+    assertThat(allocated).isLessThan(iterations);
+  }
+
+  @Test
+  void testAddCharSequence() {
+    StringBuilder builder = new StringBuilder("foo");
+    EoWriter writer = new EoWriter();
+    writer.addString(builder);
+    writer.addFixedString(builder, 5, true);
+    writer.addEncodedString(builder);
+    writer.addFixedEncodedString(builder, 3);
+    assertThat(writer.toByteArray()).containsExactly(toBytes("foofooÿÿ^0g^0g"));
+  }
+
+  @Test
+  void testAddStringMatchesCharsetEncoding() {
+    char[] characters = {
+      'a', 'Z', '!', '~', ' ', 'é', 'ÿ', '€', '\u0081', '\u4E2D', '\uD83D', '\uDE00'
+    };
+    Random random = new Random(42);
+
+    for (int iteration = 0; iteration < 2000; ++iteration) {
+      char[] chars = new char[random.nextInt(12)];
+      for (int i = 0; i < chars.length; ++i) {
+        chars[i] = characters[random.nextInt(characters.length)];
+      }
+      String string = new String(chars);
+      int length = string.length() + random.nextInt(3);
+      boolean padded = length != string.length() || random.nextBoolean();
+      boolean sanitized = random.nextBoolean();
+
+      for (boolean encoded : new boolean[] {false, true}) {
+        byte[] expected = toBytes(string);
+        if (sanitized) {
+          for (int i = 0; i < expected.length; ++i) {
+            if (expected[i] == (byte) 0xFF) {
+              expected[i] = 0x79;
+            }
+          }
+        }
+        if (padded) {
+          int expectedLength = expected.length;
+          expected = Arrays.copyOf(expected, length);
+          Arrays.fill(expected, expectedLength, length, (byte) 0xFF);
+        }
+        if (encoded) {
+          StringEncodingUtils.encodeString(expected);
+        }
+
+        for (EoWriter writer :
+            new EoWriter[] {new EoWriter(), new EoWriter(ByteBuffer.allocateDirect(1))}) {
+          writer.setStringSanitizationMode(sanitized);
+          StringBuilder builder = new StringBuilder(string);
+          if (encoded) {
+            writer.addFixedEncodedString(builder, length, padded);
+          } else {
+            writer.addFixedString(builder, length, padded);
+          }
+          assertThat(writer.toByteArray()).containsExactly(expected);
+        }
+      }
+    }
+  }
+
+  @Test
+  void testAddStringDoesNotAllocate() {
+    ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean allocationMXBean =
+        (com.sun.management.ThreadMXBean) threadMXBean;
+    assumeTrue(allocationMXBean.isThreadAllocatedMemorySupported());
+    allocationMXBean.setThreadAllocatedMemoryEnabled(true);
+
+    int iterations = 10_000;
+    StringBuilder builder = new StringBuilder("Hello, World!");
+    EoWriter writer = new EoWriter(ByteBuffer.allocate(iterations * 40));
+    writer.setStringSanitizationMode(true);
+
+    long threadId = Thread.currentThread().getId();
+    long allocatedBefore = allocationMXBean.getThreadAllocatedBytes(threadId);
+
+    for (int i = 0; i < iterations; ++i) {
+      writer.addString(builder);
+      writer.addFixedEncodedString(builder, 20, true);
+    }
+
+    long allocated = allocationMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+    assertThat(writer.getLength()).isEqualTo(iterations * 33);
+    assertThat(allocated).isLessThan(iterations);
+  }
+
+  @Test
+  void testInitialCapacity() {
+    EoWriter writer = new EoWriter(64);
+    assertThat(writer.getCapacity()).isEqualTo(64);
+    writer.addBytes(new byte[64]);
+    assertThat(writer.getCapacity()).isEqualTo(64);
+    writer.addByte(0x01);
+    assertThat(writer.getCapacity()).isEqualTo(128);
+  }
+
+  @Test
+  void testZeroInitialCapacity() {
+    EoWriter writer = new EoWriter(0);
+    writeSample(writer);
+    assertThat(writer.toByteArray()).containsExactly(sampleBytes());
+  }
+
+  @Test
+  void testNegativeInitialCapacity() {
+    assertThatThrownBy(() -> new EoWriter(-1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void testReset() {
+    EoWriter writer = new EoWriter();
+    writer.setStringSanitizationMode(true);
+    writer.addBytes(new byte[100]);
+    int capacity = writer.getCapacity();
+
+    writer.reset();
+    assertThat(writer.getLength()).isZero();
+    assertThat(writer.getStringSanitizationMode()).isFalse();
+    assertThat(writer.getCapacity()).isEqualTo(capacity);
+
+    writeSample(writer);
+    assertThat(writer.toByteArray()).containsExactly(sampleBytes());
+  }
+
+  @Test
+  void testResetByteBuffer() {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+    buffer.position(8);
+    EoWriter writer = new EoWriter(buffer);
+    writer.addString("foo");
+
+    writer.reset();
+    writeSample(writer);
+    assertThat(writer.getBuffer()).isSameAs(buffer);
+    assertThat(writer.toByteArray()).containsExactly(sampleBytes());
+  }
+
+  @Test
+  void testSegmentedWriterMatchesArrayWriter() {
+    for (int segmentSize = 1; segmentSize <= 32; ++segmentSize) {
+      EoWriter heapWriter = EoWriter.segmented(segmentSize);
+      EoWriter directWriter = EoWriter.segmented(segmentSize, BufferAllocator.DIRECT);
+      writeSample(heapWriter);
+      writeSample(directWriter);
+
+      assertThat(heapWriter.getLength()).isEqualTo(sampleBytes().length);
+      assertThat(heapWriter.toByteArray()).containsExactly(sampleBytes());
+      assertThat(directWriter.toByteArray()).containsExactly(sampleBytes());
+    }
+  }
+
+  @Test
+  void testSegmentedAddBytes() {
+    EoWriter writer = EoWriter.segmented(4);
+    writer.addByte(0x01);
+    writer.addBytes(new byte[] {0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08, 0x09, 0x0A});
+
+    assertThat(writer.getBuffers()).extracting(ByteBuffer::remaining).containsExactly(4, 4, 2);
+    assertThat(writer.getBuffers()).extracting(ByteBuffer::capacity).containsExactly(4, 4, 4);
+    assertThat(writer.toByteArray())
+        .containsExactly(0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08, 0x09, 0x0A);
+  }
+
+  @Test
+  void testSegmentedValueStartsNewSegment() {
+    EoWriter writer = EoWriter.segmented(4);
+    writer.addChar(1);
+    writer.addShort(2);
+    writer.addShort(3);
+    writer.addFixedString("abcdef", 6);
+
+    assertThat(writer.getBuffers()).extracting(ByteBuffer::remaining).containsExactly(3, 2, 6);
+    assertThat(writer.toByteArray())
+        .containsExactly(0x02, 0x03, 0xFE, 0x04, 0xFE, 0x61, 0x62, 0x63, 0x64, 0x65, 0x66);
+  }
+
+  @Test
+  void testSegmentedWriterAllocatorAndReset() {
+    List<ByteBuffer> allocated = new ArrayList<>();
+    List<ByteBuffer> released = new ArrayList<>();
+    BufferAllocator allocator =
+        new BufferAllocator() {
+          @Override
+          public ByteBuffer allocate(int capacity) {
+            ByteBuffer result = ByteBuffer.allocateDirect(capacity + 3);
+            result.position(3);
+            allocated.add(result);
+            return result;
+          }
+
+          @Override
+          public void release(ByteBuffer buffer) {
+            released.add(buffer);
+          }
+        };
+
+    EoWriter writer = EoWriter.segmented(4, allocator);
+    writeSample(writer);
+
+    assertThat(allocated).hasSizeGreaterThan(1);
+    assertThat(released).isEmpty();
+    assertThat(writer.getBuffer()).isNull();
+    assertThat(writer.toByteArray()).containsExactly(sampleBytes());
+
+    writer.reset();
+
+    assertThat(released).containsExactlyElementsOf(allocated.subList(1, allocated.size()));
+    assertThat(writer.getLength()).isZero();
+    assertThat(writer.getBuffers()).hasSize(1);
+
+    writeSample(writer);
+    assertThat(writer.toByteArray()).containsExactly(sampleBytes());
+  }
+
+  @Test
+  void testSegmentedWriterWithPooledAllocator() {
+    BufferAllocator allocator = BufferAllocator.pooled(BufferAllocator.HEAP, 8, 16);
+
+    EoWriter writer = EoWriter.segmented(8, allocator);
+    writeSample(writer);
+    ByteBuffer[] buffers = writer.getBuffers();
+    writer.reset();
+
+    EoWriter other = EoWriter.segmented(8, allocator);
+    writeSample(other);
+
+    assertThat(other.toByteArray()).containsExactly(sampleBytes());
+    assertThat(other.getBuffers()).hasSameSizeAs(buffers);
+  }
+
+  @Test
+  void testInvalidSegmentSize() {
+    assertThatThrownBy(() -> EoWriter.segmented(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void testGetBuffers() {
+    ByteBuffer heapBuffer = ByteBuffer.allocate(64);
+    heapBuffer.position(8);
+    ByteBuffer directBuffer = ByteBuffer.allocateDirect(64);
+    directBuffer.position(8);
+
+    EoWriter[] writers = {
+      new EoWriter(), new EoWriter(heapBuffer), new EoWriter(directBuffer), EoWriter.segmented(4)
+    };
+
+    for (EoWriter writer : writers) {
+      writeSample(writer);
+
+      ByteBuffer[] buffers = writer.getBuffers();
+      ByteBuffer data = ByteBuffer.allocate(writer.getLength());
+      for (ByteBuffer buffer : buffers) {
+        assertThat(buffer.isReadOnly()).isTrue();
+        data.put(buffer);
+      }
+
+      assertThat(data.array()).containsExactly(sampleBytes());
+    }
+  }
+
+  @Test
+  void testWriteTo() throws IOException {
+    EoWriter[] writers = {new EoWriter(), EoWriter.segmented(4)};
+
+    for (EoWriter writer : writers) {
+      writeSample(writer);
+
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      writer.writeTo(createChannel(output, 3));
+
+      assertThat(output.toByteArray()).containsExactly(sampleBytes());
+      assertThat(writer.toByteArray()).containsExactly(sampleBytes());
+    }
+  }
+
+  @Test
+  void testAddPlaceholderAndSet() {
+    ByteBuffer heapBuffer = ByteBuffer.allocate(64);
+    heapBuffer.position(8);
+    ByteBuffer directBuffer = ByteBuffer.allocateDirect(64);
+    directBuffer.position(8);
+
+    EoWriter[] writers = {
+      new EoWriter(),
+      new EoWriter(heapBuffer),
+      new EoWriter(directBuffer),
+      EoWriter.segmented(1),
+      EoWriter.segmented(3),
+      EoWriter.segmented(16, BufferAllocator.DIRECT)
+    };
+
+    for (EoWriter writer : writers) {
+      writer.addPlaceholder(2);
+      writer.addPlaceholder(2);
+      writeSample(writer);
+      writer.setShort(0, writer.getLength() - 2);
+      writer.setByte(2, 0x03);
+      writer.setChar(3, 4);
+
+      EoWriter expected = new EoWriter();
+      expected.addShort(sampleBytes().length + 2);
+      expected.addByte(0x03);
+      expected.addChar(4);
+      writeSample(expected);
+
+      assertThat(writer.toByteArray()).containsExactly(expected.toByteArray());
+    }
+  }
+
+  @Test
+  void testSetNumbers() {
+    // With 2-byte segments, most numbers are split across segments.
+    EoWriter[] writers = {new EoWriter(), EoWriter.segmented(2)};
+
+    for (EoWriter writer : writers) {
+      writer.addBytes(new byte[13]);
+      writer.setChar(0, 100);
+      writer.setShort(1, 1000);
+      writer.setThree(3, 100_000);
+      writer.setInt(6, 100_000_000);
+      writer.setByte(10, 0xFF);
+      writer.setShort(11, 12345);
+
+      EoWriter expected = new EoWriter();
+      expected.addChar(100);
+      expected.addShort(1000);
+      expected.addThree(100_000);
+      expected.addInt(100_000_000);
+      expected.addByte(0xFF);
+      expected.addShort(12345);
+
+      assertThat(writer.toByteArray()).containsExactly(expected.toByteArray());
+    }
+  }
+
+  @Test
+  void testPlaceholderIsZeroedAfterReset() {
+    EoWriter writer = new EoWriter();
+    writer.addBytes(new byte[] {0x01, 0x02, 0x03});
+    writer.reset();
+    writer.addPlaceholder(3);
+    assertThat(writer.toByteArray()).containsExactly(0x00, 0x00, 0x00);
+  }
+
+  @Test
+  void testAddNegativePlaceholder() {
+    assertThatThrownBy(() -> new EoWriter().addPlaceholder(-1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void testSetOutOfBounds() {
+    EoWriter writer = new EoWriter();
+    writer.addPlaceholder(3);
+
+    assertThatThrownBy(() -> writer.setByte(-1, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> writer.setByte(3, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> writer.setShort(2, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> writer.setInt(0, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatCode(() -> writer.setThree(0, 0)).doesNotThrowAnyException();
+  }
+
+  @Test
+  void testSetNumbersExceedingLimit() {
+    EoWriter writer = new EoWriter();
+    writer.addPlaceholder(4);
+
+    assertThatThrownBy(() -> writer.setByte(0, 256)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> writer.setChar(0, EoNumericLimits.CHAR_MAX))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> writer.setShort(0, EoNumericLimits.SHORT_MAX))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> writer.setThree(0, EoNumericLimits.THREE_MAX))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> writer.setInt(0, EoNumericLimits.INT_MAX))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(writer.toByteArray()).containsExactly(0x00, 0x00, 0x00, 0x00);
+  }
+
+  @Test
+  void testStreamingWriterMatchesArrayWriter() {
+    for (int bufferSize = 1; bufferSize <= 32; ++bufferSize) {
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      EoWriter writer = new EoWriter(createChannel(output, 3), bufferSize);
+      writeSample(writer);
+      writer.flush();
+
+      assertThat(writer.getLength()).isEqualTo(sampleBytes().length);
+      assertThat(output.toByteArray()).containsExactly(sampleBytes());
+    }
+  }
+
+  @Test
+  void testStreamingWriter() {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    EoWriter writer = new EoWriter(output);
+    writeSample(writer);
+
+    // Nothing is written until the buffer fills up or the writer is flushed.
+    assertThat(output.size()).isZero();
+    writer.flush();
+    assertThat(output.toByteArray()).containsExactly(sampleBytes());
+    writer.flush();
+    assertThat(output.toByteArray()).containsExactly(sampleBytes());
+  }
+
+  @Test
+  void testStreamingWriterFlushesWhenBufferIsFull() {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    EoWriter writer = new EoWriter(createChannel(output, 64), 4);
+
+    writer.addThree(1);
+    assertThat(output.size()).isZero();
+
+    writer.addShort(2);
+    assertThat(output.toByteArray()).containsExactly(0x02, 0xFE, 0xFE);
+
+    writer.addFixedString("abcdef", 6);
+    assertThat(output.toByteArray()).containsExactly(0x02, 0xFE, 0xFE, 0x03, 0xFE);
+
+    writer.addBytes(new byte[] {0x01, 0x02, 0x03, 0x04, 0x05});
+    writer.addByte(0x06);
+    writer.flush();
+    assertThat(output.toByteArray())
+        .containsExactly(
+            0x02, 0xFE, 0xFE, 0x03, 0xFE, 0x61, 0x62, 0x63, 0x64, 0x65, 0x66, 0x01, 0x02, 0x03,
+            0x04, 0x05, 0x06);
+    assertThat(writer.getLength()).isEqualTo(17);
+  }
+
+  @Test
+  void testStreamingWriterSet() {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    EoWriter writer = new EoWriter(createChannel(output, 64), 4);
+
+    writer.addPlaceholder(2);
+    writer.addByte(0x01);
+    writer.setShort(0, 2);
+    writer.addBytes(new byte[] {0x02, 0x03});
+    writer.setByte(4, 0x04);
+
+    assertThatThrownBy(() -> writer.setShort(2, 3)).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> writer.setByte(2, 0x05)).isInstanceOf(IllegalStateException.class);
+
+    writer.flush();
+    assertThat(output.toByteArray()).containsExactly(0x03, 0xFE, 0x01, 0x02, 0x04);
+  }
+
+  @Test
+  void testStreamingWriterReset() {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    EoWriter writer = new EoWriter(createChannel(output, 64), 4);
+
+    writer.addBytes(new byte[] {0x01, 0x02, 0x03});
+    writer.addBytes(new byte[] {0x04, 0x05});
+    writer.reset();
+    assertThat(writer.getLength()).isZero();
+
+    writer.addByte(0x06);
+    writer.flush();
+    assertThat(output.toByteArray()).containsExactly(0x01, 0x02, 0x03, 0x06);
+  }
+
+  @Test
+  void testStreamingWriterUnsupportedOperations() {
+    EoWriter writer = new EoWriter(new ByteArrayOutputStream());
+    writer.addByte(0x01);
+
+    assertThat(writer.getBuffer()).isNull();
+    assertThatThrownBy(writer::toByteArray).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(writer::getBuffers).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> writer.writeTo(createChannel(new ByteArrayOutputStream(), 1)))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void testStreamingWriterIOException() {
+    OutputStream output =
+        new OutputStream() {
+          @Override
+          public void write(int b) throws IOException {
+            throw new IOException("Stream closed");
+          }
+        };
+
+    EoWriter writer = new EoWriter(output);
+    writer.addByte(0x01);
+
+    assertThatThrownBy(writer::flush)
+        .isInstanceOf(UncheckedIOException.class)
+        .hasMessageContaining("Stream closed");
+  }
+
+  @Test
+  void testStreamingWriterInvalidBufferSize() {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    assertThatThrownBy(() -> new EoWriter(createChannel(output, 1), 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void testFlushNonStreamingWriter() {
+    EoWriter writer = new EoWriter();
+    writeSample(writer);
+    writer.flush();
+    assertThat(writer.toByteArray()).containsExactly(sampleBytes());
+  }
+
+  private static GatheringByteChannel createChannel(
+      ByteArrayOutputStream output, int maxWriteLength) {
+    // Writes no more than maxWriteLength bytes at a time, like a socket with a full send buffer.
+    return new GatheringByteChannel() {
+      @Override
+      public long write(ByteBuffer[] sources, int offset, int length) {
+        int written = 0;
+        for (int i = offset; i < offset + length && written < maxWriteLength; ++i) {
+          while (sources[i].hasRemaining() && written < maxWriteLength) {
+            output.write(sources[i].get());
+            ++written;
+          }
+        }
+        return written;
+      }
+
+      @Override
+      public long write(ByteBuffer[] sources) {
+        return write(sources, 0, sources.length);
+      }
+
+      @Override
+      public int write(ByteBuffer source) {
+        return (int) write(new ByteBuffer[] {source});
+      }
+
+      @Override
+      public boolean isOpen() {
+        return true;
+      }
+
+      @Override
+      public void close() {}
+    };
+  }
+
+  private static void writeSample(EoWriter writer) {
+    writer.addByte(0x01);
+    writer.addChar(123);
+    writer.addShort(12345);
+    writer.addInt(10_000_000);
+    writer.addShorts(new int[] {1, 2, 3});
+    writer.addString("foo");
+    writer.addFixedEncodedString("bar", 5, true);
+    writer.addBytes(new byte[] {0x02, 0x03});
+  }
+
+  private static byte[] sampleBytes() {
+    EoWriter writer = new EoWriter();
+    writeSample(writer);
+    return writer.toByteArray();
+  }
+
   private static byte[] toBytes(String string) {
     return string.getBytes(Charset.forName("windows-1252"));
   }
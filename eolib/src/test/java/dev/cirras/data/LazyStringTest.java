@@ -0,0 +1,74 @@
+package dev.cirras.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import org.junit.jupiter.api.Test;
+
+class LazyStringTest {
+  private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+
+  @Test
+  void testDecode() {
+    byte[] bytes = toBytes("xHello, World!x");
+    LazyString string = LazyString.of(bytes, null, 1, 13);
+    assertThat(string.isDecoded()).isFalse();
+    assertThat(string.length()).isEqualTo(13);
+    assertThat(string.isDecoded()).isFalse();
+    assertThat(string.toString()).isEqualTo("Hello, World!");
+    assertThat(string.isDecoded()).isTrue();
+  }
+
+  @Test
+  void testDecodeEncoded() {
+    byte[] bytes = toBytes("ÿ0^9");
+    LazyString string = LazyString.ofEncoded(bytes, null, 0, 4, 1);
+    assertThat(string.length()).isEqualTo(3);
+    assertThat(string.toString()).isEqualTo("foo");
+  }
+
+  @Test
+  void testDecodeFromDirectByteBuffer() {
+    byte[] bytes = toBytes("€ ‰ Ÿ – ™");
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes);
+    LazyString string = LazyString.of(null, buffer, 0, bytes.length);
+    assertThat(string.toString()).isEqualTo("€ ‰ Ÿ – ™");
+  }
+
+  @Test
+  void testDecodedStringIsCached() {
+    byte[] bytes = toBytes("foo");
+    LazyString string = LazyString.of(bytes, null, 0, bytes.length);
+    String decoded = string.toString();
+
+    // The input data is released after decoding, so later changes must not be visible.
+    bytes[0] = 'b';
+    assertThat(string.toString()).isSameAs(decoded).isEqualTo("foo");
+  }
+
+  @Test
+  void testCharSequenceMethods() {
+    LazyString string = LazyString.of(toBytes("foobar"), null, 0, 6);
+    assertThat(string.charAt(3)).isEqualTo('b');
+    assertThat(string.subSequence(1, 4).toString()).isEqualTo("oob");
+  }
+
+  @Test
+  void testEqualsAndHashCode() {
+    LazyString string1 = LazyString.of(toBytes("foo"), null, 0, 3);
+    LazyString string2 = LazyString.of(toBytes("xfoo"), null, 1, 3);
+    LazyString string3 = LazyString.of(toBytes("bar"), null, 0, 3);
+
+    assertThat(string1).isEqualTo(string2);
+    assertThat(string1.hashCode()).isEqualTo(string2.hashCode());
+    assertThat(string1.hashCode()).isEqualTo("foo".hashCode());
+    assertThat(string1).isNotEqualTo(string3);
+    assertThat((Object) string1).isNotEqualTo("foo");
+  }
+
+  private static byte[] toBytes(String string) {
+    return string.getBytes(WINDOWS_1252);
+  }
+}
@@ -2,7 +2,11 @@ package dev.cirras.data;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -50,10 +54,80 @@ class NumberEncodingUtilsTest {
         .containsExactly(b1, b2, b3, b4);
   }
 
+  @ParameterizedTest(name = "{0} should encode to [{1}, {2}, {3}, {4}] in a byte array range")
+  @ArgumentsSource(EncodedNumberArgumentsProvider.class)
+  void testEncodeNumberToByteArrayRange(int number, int b1, int b2, int b3, int b4) {
+    byte[] bytes = new byte[] {0x7F, 0x7F, 0x7F, 0x7F, 0x7F, 0x7F};
+    NumberEncodingUtils.encodeNumber(number, bytes, 1, 4);
+    assertThat(bytes).inHexadecimal().containsExactly(0x7F, b1, b2, b3, b4, 0x7F);
+  }
+
+  @ParameterizedTest(name = "{0} should encode to [{1}, {2}, {3}, {4}] in a buffer range")
+  @ArgumentsSource(EncodedNumberArgumentsProvider.class)
+  void testEncodeNumberToByteBufferRange(int number, int b1, int b2, int b3, int b4) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(6);
+    buffer.put(new byte[] {0x7F, 0x7F, 0x7F, 0x7F, 0x7F, 0x7F});
+    NumberEncodingUtils.encodeNumber(number, buffer, 1, 4);
+
+    byte[] bytes = new byte[6];
+    buffer.flip();
+    buffer.get(bytes);
+    assertThat(bytes).inHexadecimal().containsExactly(0x7F, b1, b2, b3, b4, 0x7F);
+    assertThat(buffer.position()).isEqualTo(6);
+  }
+
+  @Test
+  void testEncodeNumberWithLengthMatchesEncodeNumber() {
+    // Each width has its own encoding path, including when the number doesn't fit in that width.
+    int[] numbers = {
+      0,
+      1,
+      252,
+      253,
+      254,
+      64008,
+      64009,
+      64010,
+      16_194_276,
+      16_194_277,
+      16_194_278,
+      Integer.MAX_VALUE,
+      -1
+    };
+    Random random = new Random(1234);
+    int[] randomNumbers = random.ints(10_000).map(n -> n >>> random.nextInt(32)).toArray();
+
+    for (int[] values : new int[][] {numbers, randomNumbers}) {
+      for (int number : values) {
+        byte[] expected = NumberEncodingUtils.encodeNumber(number);
+        for (int length = 1; length <= 4; ++length) {
+          byte[] bytes = new byte[length];
+          NumberEncodingUtils.encodeNumber(number, bytes, 0, length);
+          assertThat(bytes).containsExactly(Arrays.copyOf(expected, length));
+        }
+      }
+    }
+  }
+
   @ParameterizedTest(name = "[{1}, {2}, {3}, {4}] should decode to {0}")
   @ArgumentsSource(EncodedNumberArgumentsProvider.class)
   void testDecodeNumber(int number, int b1, int b2, int b3, int b4) {
     byte[] bytes = new byte[] {(byte) b1, (byte) b2, (byte) b3, (byte) b4};
     assertThat(NumberEncodingUtils.decodeNumber(bytes)).inHexadecimal().isEqualTo(number);
   }
+
+  @ParameterizedTest(name = "[{1}, {2}, {3}, {4}] should decode to {0} from a byte array range")
+  @ArgumentsSource(EncodedNumberArgumentsProvider.class)
+  void testDecodeNumberFromByteArrayRange(int number, int b1, int b2, int b3, int b4) {
+    byte[] bytes = new byte[] {0x7F, (byte) b1, (byte) b2, (byte) b3, (byte) b4, 0x7F};
+    assertThat(NumberEncodingUtils.decodeNumber(bytes, 1, 4)).inHexadecimal().isEqualTo(number);
+  }
+
+  @ParameterizedTest(name = "[{1}, {2}, {3}, {4}] should decode to {0} from a buffer range")
+  @ArgumentsSource(EncodedNumberArgumentsProvider.class)
+  void testDecodeNumberFromByteBufferRange(int number, int b1, int b2, int b3, int b4) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(6);
+    buffer.put(new byte[] {0x7F, (byte) b1, (byte) b2, (byte) b3, (byte) b4, 0x7F});
+    assertThat(NumberEncodingUtils.decodeNumber(buffer, 1, 4)).inHexadecimal().isEqualTo(number);
+  }
 }
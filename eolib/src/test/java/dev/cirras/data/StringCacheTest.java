@@ -0,0 +1,150 @@
+package dev.cirras.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class StringCacheTest {
+  @Test
+  void testHit() {
+    StringCache cache = new StringCache(16);
+    byte[] bytes = toBytes("__foo__foo");
+
+    String first = cache.get(bytes, null, 2, 3);
+    String second = cache.get(bytes, null, 7, 3);
+
+    assertThat(first).isEqualTo("foo");
+    assertThat(second).isSameAs(first);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testMiss() {
+    StringCache cache = new StringCache(16);
+    byte[] bytes = toBytes("foobar");
+
+    assertThat(cache.get(bytes, null, 0, 3)).isEqualTo("foo");
+    assertThat(cache.get(bytes, null, 3, 3)).isEqualTo("bar");
+    assertThat(cache.get(bytes, null, 0, 2)).isEqualTo("fo");
+    assertThat(cache.getHitCount()).isZero();
+    assertThat(cache.getMissCount()).isEqualTo(3);
+  }
+
+  @Test
+  void testByteBuffer() {
+    StringCache cache = new StringCache(16);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(3);
+    buffer.put(toBytes("foo"));
+
+    String first = cache.get(toBytes("foo"), null, 0, 3);
+    assertThat(cache.get(null, buffer, 0, 3)).isSameAs(first);
+  }
+
+  @Test
+  void testEncodedStringsAreCachedSeparately() {
+    StringCache cache = new StringCache(16);
+    byte[] bytes = toBytes("ÿ0^9");
+
+    assertThat(cache.get(bytes, null, 0, 4)).isEqualTo("ÿ0^9");
+    assertThat(cache.getEncoded(bytes, null, 0, 4, 1)).isEqualTo("foo");
+    assertThat(cache.getEncoded(bytes, null, 0, 4, 0)).startsWith("foo").hasSize(4);
+    assertThat(cache.getEncoded(bytes, null, 0, 4, 1)).isEqualTo("foo");
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(3);
+  }
+
+  @Test
+  void testLongStringsAreNotCached() {
+    StringCache cache = new StringCache(16, 2);
+    byte[] bytes = toBytes("foo");
+
+    String first = cache.get(bytes, null, 0, 3);
+    String second = cache.get(bytes, null, 0, 3);
+
+    assertThat(second).isEqualTo(first).isNotSameAs(first);
+    assertThat(cache.getHitCount()).isZero();
+    assertThat(cache.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  void testCapacityIsBounded() {
+    StringCache cache = new StringCache(4);
+    for (int i = 0; i < 1000; ++i) {
+      byte[] bytes = toBytes(Integer.toString(i));
+      assertThat(cache.get(bytes, null, 0, bytes.length)).isEqualTo(Integer.toString(i));
+    }
+    assertThat(cache.getMissCount()).isEqualTo(1000);
+  }
+
+  @Test
+  void testCapacity() {
+    assertThat(new StringCache(1).getCapacity()).isEqualTo(1);
+    assertThat(new StringCache(2).getCapacity()).isEqualTo(2);
+    assertThat(new StringCache(3).getCapacity()).isEqualTo(4);
+    assertThat(new StringCache(100).getCapacity()).isEqualTo(128);
+    assertThat(new StringCache(1024).getCapacity()).isEqualTo(1024);
+  }
+
+  @Test
+  void testInvalidArguments() {
+    assertThatThrownBy(() -> new StringCache(0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new StringCache((1 << 30) + 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new StringCache(1, -1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void testClear() {
+    StringCache cache = new StringCache(16);
+    byte[] bytes = toBytes("foo");
+
+    String first = cache.get(bytes, null, 0, 3);
+    cache.get(bytes, null, 0, 3);
+    cache.clear();
+
+    assertThat(cache.getHitCount()).isZero();
+    assertThat(cache.getMissCount()).isZero();
+    assertThat(cache.get(bytes, null, 0, 3)).isNotSameAs(first);
+  }
+
+  @Test
+  void testConcurrentAccess() throws InterruptedException, ExecutionException {
+    StringCache cache = new StringCache(8);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < 4; ++thread) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < 10_000; ++i) {
+                    String expected = "name" + (i % 32);
+                    byte[] bytes = toBytes(expected);
+                    assertThat(cache.get(bytes, null, 0, bytes.length)).isEqualTo(expected);
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(cache.getHitCount() + cache.getMissCount()).isEqualTo(40_000);
+  }
+
+  private static byte[] toBytes(String string) {
+    return string.getBytes(Charset.forName("windows-1252"));
+  }
+}
@@ -1,9 +1,14 @@
 package dev.cirras.data;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
+import java.util.Random;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -49,6 +54,170 @@ class StringEncodingUtilsTest {
     assertThat(decoded).isEqualTo(expectedDecoded);
   }
 
+  @Test
+  void testEncodeMatchesReferenceImplementation() {
+    Random random = new Random(0xE0);
+    for (int length = 0; length <= 64; ++length) {
+      for (int offset = 0; offset < 3; ++offset) {
+        byte[] bytes = randomBytes(random, offset + length + 3);
+        byte[] expected = bytes.clone();
+        referenceEncode(expected, offset, length);
+
+        StringEncodingUtils.encodeString(bytes, offset, length);
+
+        assertThat(bytes).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  void testDecodeMatchesReferenceImplementation() {
+    Random random = new Random(0xE0);
+    for (int length = 0; length <= 64; ++length) {
+      for (int offset = 0; offset < 3; ++offset) {
+        byte[] bytes = randomBytes(random, offset + length + 3);
+        byte[] expected = bytes.clone();
+        referenceDecode(expected, offset, length);
+
+        StringEncodingUtils.decodeString(bytes, offset, length);
+
+        assertThat(bytes).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  void testEncodeDecodeAllByteValues() {
+    byte[] original = new byte[256];
+    for (int i = 0; i < original.length; ++i) {
+      original[i] = (byte) i;
+    }
+
+    for (int offset = 0; offset < 2; ++offset) {
+      int length = original.length - offset;
+
+      byte[] expectedEncoded = original.clone();
+      referenceEncode(expectedEncoded, offset, length);
+      byte[] encoded = original.clone();
+      StringEncodingUtils.encodeString(encoded, offset, length);
+      assertThat(encoded).isEqualTo(expectedEncoded);
+
+      byte[] expectedDecoded = original.clone();
+      referenceDecode(expectedDecoded, offset, length);
+      byte[] decoded = original.clone();
+      StringEncodingUtils.decodeString(decoded, offset, length);
+      assertThat(decoded).isEqualTo(expectedDecoded);
+    }
+  }
+
+  @Test
+  void testEncodeDecodeByteBuffer() {
+    Random random = new Random(0xE0);
+    ByteBuffer[] buffers = {
+      ByteBuffer.allocate(80),
+      ByteBuffer.allocate(80).order(ByteOrder.LITTLE_ENDIAN),
+      ByteBuffer.allocateDirect(80),
+      ByteBuffer.allocateDirect(80).order(ByteOrder.LITTLE_ENDIAN)
+    };
+
+    for (ByteBuffer buffer : buffers) {
+      for (int length = 0; length <= 64; length += 7) {
+        byte[] original = randomBytes(random, buffer.capacity());
+        buffer.clear();
+        buffer.put(original);
+        buffer.position(5);
+
+        byte[] expected = original.clone();
+        referenceEncode(expected, 3, length);
+        StringEncodingUtils.encodeString(buffer, 3, length);
+        assertThat(contents(buffer)).isEqualTo(expected);
+
+        referenceDecode(expected, 3, length);
+        StringEncodingUtils.decodeString(buffer, 3, length);
+        assertThat(contents(buffer)).isEqualTo(expected);
+        assertThat(buffer.position()).isEqualTo(5);
+      }
+    }
+  }
+
+  @Test
+  void testEncodeStringOutOfBounds() {
+    byte[] bytes = new byte[10];
+    ByteBuffer buffer = ByteBuffer.allocate(10);
+    buffer.limit(8);
+
+    assertThatThrownBy(() -> StringEncodingUtils.encodeString(bytes, -1, 2))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> StringEncodingUtils.encodeString(bytes, 0, -1))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> StringEncodingUtils.encodeString(bytes, 5, 6))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> StringEncodingUtils.encodeString(buffer, 4, 5))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void testDecodeStringOutOfBounds() {
+    byte[] bytes = new byte[10];
+    ByteBuffer buffer = ByteBuffer.allocate(10);
+    buffer.limit(8);
+
+    assertThatThrownBy(() -> StringEncodingUtils.decodeString(bytes, -1, 2))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> StringEncodingUtils.decodeString(bytes, 0, -1))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> StringEncodingUtils.decodeString(bytes, 5, 6))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> StringEncodingUtils.decodeString(buffer, 4, 5))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  /** The original two-pass encoding: invert every byte, then reverse the range. */
+  private static void referenceEncode(byte[] bytes, int offset, int length) {
+    referenceInvert(bytes, offset, length);
+    referenceReverse(bytes, offset, length);
+  }
+
+  /** The original two-pass decoding: reverse the range, then invert every byte. */
+  private static void referenceDecode(byte[] bytes, int offset, int length) {
+    referenceReverse(bytes, offset, length);
+    referenceInvert(bytes, offset, length);
+  }
+
+  private static void referenceInvert(byte[] bytes, int offset, int length) {
+    boolean flippy = length % 2 == 1;
+    for (int i = offset; i < offset + length; ++i) {
+      bytes[i] = StringEncodingUtils.invertCharacter(bytes[i], flippy);
+      flippy = !flippy;
+    }
+  }
+
+  private static void referenceReverse(byte[] bytes, int offset, int length) {
+    for (int i = 0; i < length / 2; ++i) {
+      byte b = bytes[offset + i];
+      bytes[offset + i] = bytes[offset + length - i - 1];
+      bytes[offset + length - i - 1] = b;
+    }
+  }
+
+  private static byte[] randomBytes(Random random, int length) {
+    byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    // Bias towards the printable range, where the inversion actually changes bytes.
+    for (int i = 0; i < length; i += 2) {
+      bytes[i] = (byte) (0x20 + random.nextInt(0x60));
+    }
+    return bytes;
+  }
+
+  private static byte[] contents(ByteBuffer buffer) {
+    byte[] result = new byte[buffer.capacity()];
+    for (int i = 0; i < result.length; ++i) {
+      result[i] = buffer.get(i);
+    }
+    return result;
+  }
+
   private static byte[] toBytes(String string) {
     return string.getBytes(Charset.forName("windows-1252"));
   }
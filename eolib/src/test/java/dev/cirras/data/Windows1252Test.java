@@ -0,0 +1,61 @@
+package dev.cirras.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class Windows1252Test {
+  private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+
+  @Test
+  void testDecodeByteMatchesCharset() {
+    for (int i = 0; i < 256; ++i) {
+      byte[] bytes = new byte[] {(byte) i};
+      assertThat(Windows1252.decode((byte) i)).isEqualTo(new String(bytes, WINDOWS_1252).charAt(0));
+    }
+  }
+
+  @Test
+  void testEncodeCharacterMatchesCharset() {
+    for (char c = 0; c < 0xFFFF; ++c) {
+      if (Character.isSurrogate(c)) {
+        continue;
+      }
+      byte[] expected = String.valueOf(c).getBytes(WINDOWS_1252);
+      assertThat(Windows1252.encode(c)).isEqualTo(expected[0]);
+    }
+  }
+
+  @Test
+  void testDecodeAllBytesMatchesCharset() {
+    byte[] bytes = new byte[256];
+    for (int i = 0; i < bytes.length; ++i) {
+      bytes[i] = (byte) i;
+    }
+
+    String expected = new String(bytes, WINDOWS_1252);
+    assertThat(Windows1252.decode(bytes, 0, bytes.length)).isEqualTo(expected);
+
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes);
+    assertThat(Windows1252.decode(buffer, 0, bytes.length)).isEqualTo(expected);
+  }
+
+  @ParameterizedTest(name = "\"{0}\" should decode from a range")
+  @ValueSource(strings = {"", "Hello, World!", "© FÒÖ BÃR BÅZ 2014", "€ ‰ Ÿ – ™"})
+  void testDecodeRange(String string) {
+    byte[] stringBytes = string.getBytes(WINDOWS_1252);
+    byte[] bytes = new byte[stringBytes.length + 4];
+    System.arraycopy(stringBytes, 0, bytes, 2, stringBytes.length);
+
+    assertThat(Windows1252.decode(bytes, 2, stringBytes.length)).isEqualTo(string);
+
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes);
+    assertThat(Windows1252.decode(buffer, 2, stringBytes.length)).isEqualTo(string);
+  }
+}
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.nio.charset.Charset;
+import java.util.Random;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtensionContext;
@@ -150,6 +151,264 @@ class EncryptionUtilsTest {
         .isExactlyInstanceOf(IllegalArgumentException.class);
   }
 
+  @Test
+  void testInterleaveMatchesReferenceImplementation() {
+    Random random = new Random(0xE0);
+    for (int length = 0; length <= 300; ++length) {
+      for (int offset = 0; offset < 3; ++offset) {
+        byte[] bytes = randomBytes(random, offset + length + 2);
+        byte[] expected = bytes.clone();
+        referenceInterleave(expected, offset, length);
+
+        EncryptionUtils.interleave(bytes, offset, length);
+
+        assertThat(bytes).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  void testInterleaveWithScratchMatchesReferenceImplementation() {
+    Random random = new Random(0xE0);
+    byte[] scratch = randomBytes(random, 310);
+    for (int length = 0; length <= 300; ++length) {
+      for (int offset = 0; offset < 3; ++offset) {
+        byte[] bytes = randomBytes(random, offset + length + 2);
+        byte[] expected = bytes.clone();
+        referenceInterleave(expected, offset, length);
+
+        EncryptionUtils.interleave(bytes, offset, length, scratch);
+
+        assertThat(bytes).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  void testDeinterleaveMatchesReferenceImplementation() {
+    Random random = new Random(0xE0);
+    for (int length = 0; length <= 300; ++length) {
+      for (int offset = 0; offset < 3; ++offset) {
+        byte[] bytes = randomBytes(random, offset + length + 2);
+        byte[] expected = bytes.clone();
+        referenceDeinterleave(expected, offset, length);
+
+        EncryptionUtils.deinterleave(bytes, offset, length);
+
+        assertThat(bytes).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  void testDeinterleaveWithScratchMatchesReferenceImplementation() {
+    Random random = new Random(0xE0);
+    byte[] scratch = randomBytes(random, 310);
+    for (int length = 0; length <= 300; ++length) {
+      for (int offset = 0; offset < 3; ++offset) {
+        byte[] bytes = randomBytes(random, offset + length + 2);
+        byte[] expected = bytes.clone();
+        referenceDeinterleave(expected, offset, length);
+
+        EncryptionUtils.deinterleave(bytes, offset, length, scratch);
+
+        assertThat(bytes).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  void testInterleaveDeinterleaveRoundTrip() {
+    Random random = new Random(0xE0);
+    for (int length : new int[] {727, 728, 6560, 6561, 6562, 65535}) {
+      byte[] original = randomBytes(random, length);
+      byte[] bytes = original.clone();
+
+      EncryptionUtils.interleave(bytes);
+      EncryptionUtils.deinterleave(bytes);
+
+      assertThat(bytes).isEqualTo(original);
+    }
+  }
+
+  @Test
+  void testInterleaveOutOfBounds() {
+    byte[] bytes = new byte[10];
+
+    assertThatThrownBy(() -> EncryptionUtils.interleave(bytes, -1, 2))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> EncryptionUtils.interleave(bytes, 0, -1))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> EncryptionUtils.interleave(bytes, 5, 6))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void testInterleaveScratchTooShort() {
+    byte[] bytes = {0, 1, 2, 3, 4, 5};
+
+    assertThatThrownBy(() -> EncryptionUtils.interleave(bytes, 1, 5, new byte[4]))
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThat(bytes).containsExactly(0, 1, 2, 3, 4, 5);
+  }
+
+  @Test
+  void testDeinterleaveOutOfBounds() {
+    byte[] bytes = new byte[10];
+
+    assertThatThrownBy(() -> EncryptionUtils.deinterleave(bytes, -1, 2))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> EncryptionUtils.deinterleave(bytes, 0, -1))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> EncryptionUtils.deinterleave(bytes, 5, 6))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void testDeinterleaveScratchTooShort() {
+    byte[] bytes = {0, 1, 2, 3, 4, 5};
+
+    assertThatThrownBy(() -> EncryptionUtils.deinterleave(bytes, 1, 5, new byte[4]))
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThat(bytes).containsExactly(0, 1, 2, 3, 4, 5);
+  }
+
+  @Test
+  void testFlipMsbMatchesReferenceImplementation() {
+    Random random = new Random(0xE0);
+    for (int length = 0; length <= 40; ++length) {
+      byte[] bytes = randomBytes(random, length);
+      byte[] expected = bytes.clone();
+      referenceFlipMsb(expected);
+
+      EncryptionUtils.flipMsb(bytes);
+
+      assertThat(bytes).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void testFlipMsbAllByteValues() {
+    byte[] bytes = new byte[256];
+    for (int i = 0; i < bytes.length; ++i) {
+      bytes[i] = (byte) i;
+    }
+    byte[] expected = bytes.clone();
+    referenceFlipMsb(expected);
+
+    EncryptionUtils.flipMsb(bytes);
+
+    assertThat(bytes).isEqualTo(expected);
+  }
+
+  @Test
+  void testSwapMultiplesMatchesReferenceImplementation() {
+    Random random = new Random(0xE0);
+    for (int multiple = 0; multiple <= 300; ++multiple) {
+      for (int length = 0; length <= 40; length += 4) {
+        byte[] bytes = randomBytes(random, length);
+        // Favor multiples of small values, so that sequences of multiples are common.
+        for (int i = 0; i < length; i += 2) {
+          bytes[i] = (byte) (random.nextInt(4) * Math.max(1, multiple % 256));
+        }
+        byte[] expected = bytes.clone();
+        referenceSwapMultiples(expected, multiple);
+
+        EncryptionUtils.swapMultiples(bytes, multiple);
+
+        assertThat(bytes).isEqualTo(expected);
+      }
+    }
+  }
+
+  /** The original flipMsb implementation, which branches on each byte. */
+  private static void referenceFlipMsb(byte[] data) {
+    for (int i = 0; i < data.length; ++i) {
+      if ((data[i] & 0x7F) != 0) {
+        data[i] = (byte) (data[i] ^ 0x80);
+      }
+    }
+  }
+
+  /** The original swapMultiples implementation, which divides each byte by the multiple. */
+  private static void referenceSwapMultiples(byte[] data, int multiple) {
+    if (multiple == 0) {
+      return;
+    }
+
+    int sequenceLength = 0;
+
+    for (int i = 0; i <= data.length; ++i) {
+      if (i != data.length && Byte.toUnsignedInt(data[i]) % multiple == 0) {
+        ++sequenceLength;
+      } else {
+        if (sequenceLength > 1) {
+          for (int ii = 0; ii < sequenceLength / 2; ++ii) {
+            byte b = data[i - sequenceLength + ii];
+            data[i - sequenceLength + ii] = data[i - ii - 1];
+            data[i - ii - 1] = b;
+          }
+        }
+
+        sequenceLength = 0;
+      }
+    }
+  }
+
+  /** The original interleave implementation, which copies through a scratch array. */
+  private static void referenceInterleave(byte[] data, int offset, int length) {
+    byte[] buffer = new byte[length];
+
+    int i = 0;
+    int ii = 0;
+
+    for (; i < length; i += 2) {
+      buffer[i] = data[offset + ii++];
+    }
+
+    --i;
+
+    if (length % 2 != 0) {
+      i -= 2;
+    }
+
+    for (; i >= 0; i -= 2) {
+      buffer[i] = data[offset + ii++];
+    }
+
+    System.arraycopy(buffer, 0, data, offset, length);
+  }
+
+  /** The original deinterleave implementation, which copies through a scratch array. */
+  private static void referenceDeinterleave(byte[] data, int offset, int length) {
+    byte[] buffer = new byte[length];
+
+    int i = 0;
+    int ii = 0;
+
+    for (; i < length; i += 2) {
+      buffer[ii++] = data[offset + i];
+    }
+
+    --i;
+
+    if (length % 2 != 0) {
+      i -= 2;
+    }
+
+    for (; i >= 0; i -= 2) {
+      buffer[ii++] = data[offset + i];
+    }
+
+    System.arraycopy(buffer, 0, data, offset, length);
+  }
+
+  private static byte[] randomBytes(Random random, int length) {
+    byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+
   private static byte[] toBytes(String string) {
     return string.getBytes(Charset.forName("windows-1252"));
   }
@@ -0,0 +1,230 @@
+package dev.cirras.encrypt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class PacketCipherTest {
+  @Test
+  void testGetMultiples() {
+    PacketCipher cipher = new PacketCipher(6, 10);
+
+    assertThat(cipher.getEncryptionMultiple()).isEqualTo(6);
+    assertThat(cipher.getDecryptionMultiple()).isEqualTo(10);
+  }
+
+  @Test
+  void testNegativeMultipleShouldThrow() {
+    assertThatThrownBy(() -> new PacketCipher(-1, 6))
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new PacketCipher(6, -1))
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void testEncryptMatchesEncryptionUtils() {
+    Random random = new Random(0xE0);
+    for (int multiple = 0; multiple <= 12; ++multiple) {
+      PacketCipher cipher = new PacketCipher(multiple, 0);
+      for (int length = 0; length <= 100; ++length) {
+        byte[] packet = randomPacket(random, length);
+        byte[] expected = packet.clone();
+        referenceEncrypt(expected, multiple);
+
+        cipher.encrypt(packet);
+
+        assertThat(packet).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  void testDecryptMatchesEncryptionUtils() {
+    Random random = new Random(0xE0);
+    for (int multiple = 0; multiple <= 12; ++multiple) {
+      PacketCipher cipher = new PacketCipher(0, multiple);
+      for (int length = 0; length <= 100; ++length) {
+        byte[] packet = randomPacket(random, length);
+        byte[] expected = packet.clone();
+        referenceDecrypt(expected, multiple);
+
+        cipher.decrypt(packet);
+
+        assertThat(packet).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  void testEncryptDecryptRoundTrip() {
+    Random random = new Random(0xE0);
+    PacketCipher cipher = new PacketCipher(7, 7);
+
+    for (int length = 0; length <= 100; ++length) {
+      byte[] original = randomPacket(random, length);
+      byte[] packet = original.clone();
+
+      cipher.encrypt(packet);
+      cipher.decrypt(packet);
+
+      assertThat(packet).isEqualTo(original);
+    }
+  }
+
+  @Test
+  void testInitPacketShouldNotBeEncrypted() {
+    byte[] original = {0x05, 0x01, (byte) 0xFF, (byte) 0xFF, 0x10, 0x20, 0x30};
+    byte[] packet = original.clone();
+    PacketCipher cipher = new PacketCipher(3, 3);
+
+    cipher.encrypt(packet);
+    assertThat(packet).isEqualTo(original);
+
+    cipher.decrypt(packet);
+    assertThat(packet).isEqualTo(original);
+  }
+
+  @Test
+  void testEncryptDecryptRange() {
+    Random random = new Random(0xE0);
+    PacketCipher cipher = new PacketCipher(5, 9);
+    byte[] packet = randomPacket(random, 40);
+
+    byte[] expected = packet.clone();
+    referenceEncrypt(expected, 5);
+    byte[] data = new byte[packet.length + 6];
+    System.arraycopy(packet, 0, data, 3, packet.length);
+
+    cipher.encrypt(data, 3, packet.length);
+    assertThat(Arrays.copyOfRange(data, 3, 3 + packet.length)).isEqualTo(expected);
+    assertThat(Arrays.copyOfRange(data, 0, 3)).containsOnly(0);
+    assertThat(Arrays.copyOfRange(data, 3 + packet.length, data.length)).containsOnly(0);
+
+    referenceDecrypt(expected, 9);
+    cipher.decrypt(data, 3, packet.length);
+    assertThat(Arrays.copyOfRange(data, 3, 3 + packet.length)).isEqualTo(expected);
+  }
+
+  @Test
+  void testEncryptDecryptByteBuffer() {
+    Random random = new Random(0xE0);
+    PacketCipher cipher = new PacketCipher(5, 9);
+    ByteBuffer backing = ByteBuffer.allocate(80);
+    backing.position(16);
+    ByteBuffer[] buffers = {
+      ByteBuffer.allocate(64), ByteBuffer.allocateDirect(64), backing.slice()
+    };
+
+    for (ByteBuffer buffer : buffers) {
+      byte[] packet = randomPacket(random, 50);
+      buffer.clear();
+      buffer.position(4);
+      buffer.put(packet);
+      buffer.position(7);
+
+      byte[] expected = packet.clone();
+      referenceEncrypt(expected, 5);
+      cipher.encrypt(buffer, 4, packet.length);
+      assertThat(contents(buffer, 4, packet.length)).isEqualTo(expected);
+
+      referenceDecrypt(expected, 9);
+      cipher.decrypt(buffer, 4, packet.length);
+      assertThat(contents(buffer, 4, packet.length)).isEqualTo(expected);
+      assertThat(buffer.position()).isEqualTo(7);
+    }
+  }
+
+  @Test
+  void testEncryptReadOnlyByteBufferShouldThrow() {
+    Random random = new Random(0xE0);
+    PacketCipher cipher = new PacketCipher(5, 9);
+    byte[] packet = randomPacket(random, 20);
+    ByteBuffer buffer = ByteBuffer.wrap(packet.clone()).asReadOnlyBuffer();
+
+    assertThatThrownBy(() -> cipher.encrypt(buffer, 0, packet.length))
+        .isInstanceOf(ReadOnlyBufferException.class);
+    assertThat(contents(buffer, 0, packet.length)).isEqualTo(packet);
+  }
+
+  @Test
+  void testEncryptOutOfBounds() {
+    PacketCipher cipher = new PacketCipher(5, 9);
+    byte[] data = new byte[10];
+    ByteBuffer buffer = ByteBuffer.allocate(10);
+    buffer.limit(8);
+
+    assertThatThrownBy(() -> cipher.encrypt(data, -1, 4))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> cipher.encrypt(data, 4, 7))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> cipher.encrypt(buffer, 4, 5))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void testDecryptOutOfBounds() {
+    PacketCipher cipher = new PacketCipher(5, 9);
+    byte[] data = new byte[10];
+    ByteBuffer buffer = ByteBuffer.allocate(10);
+    buffer.limit(8);
+
+    assertThatThrownBy(() -> cipher.decrypt(data, -1, 4))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> cipher.decrypt(data, 4, 7))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> cipher.decrypt(buffer, 4, 5))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  /** Encrypts a framed packet by chaining the {@link EncryptionUtils} steps. */
+  private static void referenceEncrypt(byte[] packet, int multiple) {
+    if (!isReferenceEncrypted(packet)) {
+      return;
+    }
+    byte[] data = Arrays.copyOfRange(packet, 2, packet.length);
+    EncryptionUtils.swapMultiples(data, multiple);
+    EncryptionUtils.flipMsb(data);
+    EncryptionUtils.interleave(data);
+    System.arraycopy(data, 0, packet, 2, data.length);
+  }
+
+  /** Decrypts a framed packet by chaining the {@link EncryptionUtils} steps. */
+  private static void referenceDecrypt(byte[] packet, int multiple) {
+    if (!isReferenceEncrypted(packet)) {
+      return;
+    }
+    byte[] data = Arrays.copyOfRange(packet, 2, packet.length);
+    EncryptionUtils.deinterleave(data);
+    EncryptionUtils.flipMsb(data);
+    EncryptionUtils.swapMultiples(data, multiple);
+    System.arraycopy(data, 0, packet, 2, data.length);
+  }
+
+  private static boolean isReferenceEncrypted(byte[] packet) {
+    return packet.length > 2
+        && !(packet.length > 3 && packet[2] == (byte) 0xFF && packet[3] == (byte) 0xFF);
+  }
+
+  private static byte[] randomPacket(Random random, int length) {
+    byte[] packet = new byte[length];
+    random.nextBytes(packet);
+    // Favor small values, so that sequences of multiples are common.
+    for (int i = 0; i < length; i += 3) {
+      packet[i] = (byte) (random.nextInt(8) * 6);
+    }
+    return packet;
+  }
+
+  private static byte[] contents(ByteBuffer buffer, int index, int length) {
+    byte[] result = new byte[length];
+    for (int i = 0; i < length; ++i) {
+      result[i] = buffer.get(index + i);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,76 @@
+package dev.cirras.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class ByteArraysTest {
+  @Test
+  void testGetLong() {
+    byte[] array = {0x7F, 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, (byte) 0x88, 0x7F};
+
+    assertThat(ByteArrays.getLong(array, 1)).isEqualTo(0x8807060504030201L);
+    assertThat(ByteArrays.getLong(array, 2)).isEqualTo(0x7F88070605040302L);
+  }
+
+  @Test
+  void testPutLong() {
+    byte[] array = new byte[10];
+
+    ByteArrays.putLong(array, 1, 0x8807060504030201L);
+
+    assertThat(array)
+        .containsExactly(0x00, 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, (byte) 0x88, 0x00);
+  }
+
+  @Test
+  void testGetLongOutOfBounds() {
+    byte[] array = new byte[10];
+
+    assertThatThrownBy(() -> ByteArrays.getLong(array, -1))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> ByteArrays.getLong(array, 3))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void testPutLongOutOfBounds() {
+    byte[] array = new byte[10];
+
+    assertThatThrownBy(() -> ByteArrays.putLong(array, 3, -1L))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThat(array).containsOnly(0x00);
+  }
+
+  @Test
+  void testEquals() {
+    byte[] a = {0x01, 0x02, 0x03, 0x04};
+    byte[] b = {0x00, 0x02, 0x03, 0x05};
+
+    assertThat(ByteArrays.equals(a, 1, b, 1, 2)).isTrue();
+    assertThat(ByteArrays.equals(a, 1, b, 1, 3)).isFalse();
+    assertThat(ByteArrays.equals(a, 0, b, 1, 2)).isFalse();
+    assertThat(ByteArrays.equals(a, 4, b, 0, 0)).isTrue();
+  }
+
+  @Test
+  void testEqualsOutOfBounds() {
+    byte[] a = new byte[4];
+    byte[] b = new byte[4];
+
+    assertThatThrownBy(() -> ByteArrays.equals(a, -1, b, 0, 2))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> ByteArrays.equals(a, 0, b, 3, 2))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void testEqualsNegativeLength() {
+    byte[] a = new byte[4];
+    byte[] b = new byte[4];
+
+    assertThatThrownBy(() -> ByteArrays.equals(a, 2, b, 2, -1))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+}
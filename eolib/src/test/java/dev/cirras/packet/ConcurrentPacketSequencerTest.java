@@ -0,0 +1,128 @@
+package dev.cirras.packet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentPacketSequencerTest {
+  private static final int THREADS = 8;
+  private static final int SEQUENCES_PER_THREAD = 100_000;
+
+  @Test
+  void testNextSequence() {
+    SequenceStart sequenceStart = AccountReplySequenceStart.fromValue(123);
+    ConcurrentPacketSequencer sequencer = new ConcurrentPacketSequencer(sequenceStart);
+
+    // Counter should increase 9 times and then wrap around
+    for (int i = 0; i < 10; ++i) {
+      assertThat(sequencer.nextSequence()).isEqualTo(123 + i);
+    }
+
+    // Counter should have wrapped around
+    assertThat(sequencer.nextSequence()).isEqualTo(123);
+  }
+
+  @Test
+  void testSetSequenceStart() {
+    SequenceStart sequenceStart = AccountReplySequenceStart.fromValue(100);
+    ConcurrentPacketSequencer sequencer = new ConcurrentPacketSequencer(sequenceStart);
+
+    assertThat(sequencer.nextSequence()).isEqualTo(100);
+
+    sequenceStart = AccountReplySequenceStart.fromValue(200);
+    sequencer.setSequenceStart(sequenceStart);
+
+    // When the sequence start is updated, the counter should not reset
+    assertThat(sequencer.nextSequence()).isEqualTo(201);
+  }
+
+  @Test
+  void testConcurrentNextSequence() throws Exception {
+    ConcurrentPacketSequencer sequencer =
+        new ConcurrentPacketSequencer(AccountReplySequenceStart.fromValue(100));
+
+    int[] counts = new int[10];
+    for (int[] threadCounts : runConcurrently(sequencer, false)) {
+      for (int i = 0; i < counts.length; ++i) {
+        counts[i] += threadCounts[i];
+      }
+    }
+
+    // Every sequence value is handed out exactly once per cycle of the counter
+    for (int count : counts) {
+      assertThat(count).isEqualTo(THREADS * SEQUENCES_PER_THREAD / 10);
+    }
+  }
+
+  @Test
+  void testConcurrentNextSequenceWithSetSequenceStart() throws Exception {
+    ConcurrentPacketSequencer sequencer =
+        new ConcurrentPacketSequencer(AccountReplySequenceStart.fromValue(100));
+
+    int[] counts = new int[10];
+    for (int[] threadCounts : runConcurrently(sequencer, true)) {
+      for (int i = 0; i < counts.length; ++i) {
+        counts[i] += threadCounts[i];
+      }
+    }
+
+    // Updating the sequence start must never skip or repeat a counter value
+    for (int count : counts) {
+      assertThat(count).isEqualTo(THREADS * SEQUENCES_PER_THREAD / 10);
+    }
+  }
+
+  /**
+   * Calls {@code nextSequence} from several threads at once, optionally with each thread also
+   * setting the sequence start to a multiple of 100 between calls.
+   *
+   * @return the number of times each counter value was returned, per thread
+   */
+  private static List<int[]> runConcurrently(
+      ConcurrentPacketSequencer sequencer, boolean setSequenceStart) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      CountDownLatch ready = new CountDownLatch(THREADS);
+      CountDownLatch go = new CountDownLatch(1);
+      List<Future<int[]>> futures = new ArrayList<>();
+
+      for (int t = 0; t < THREADS; ++t) {
+        int thread = t;
+        futures.add(
+            executor.submit(
+                () -> {
+                  int[] counts = new int[10];
+                  ready.countDown();
+                  go.await();
+                  for (int i = 0; i < SEQUENCES_PER_THREAD; ++i) {
+                    if (setSequenceStart && i % 7 == 0) {
+                      int start = 100 * (1 + (thread + i) % 2);
+                      sequencer.setSequenceStart(AccountReplySequenceStart.fromValue(start));
+                    }
+                    int sequence = sequencer.nextSequence();
+                    assertThat(sequence / 100).isIn(1, 2);
+                    ++counts[sequence % 100];
+                  }
+                  return counts;
+                }));
+      }
+
+      ready.await();
+      go.countDown();
+
+      List<int[]> results = new ArrayList<>();
+      for (Future<int[]> future : futures) {
+        results.add(future.get());
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
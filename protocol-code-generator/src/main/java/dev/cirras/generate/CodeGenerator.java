@@ -448,6 +448,13 @@ public final class CodeGenerator {
                     .addModifiers(Modifier.PUBLIC)
                     .addParameter(JavaPoetUtils.getWriterTypeName(), "writer")
                     .addStatement("$T.serialize(writer, this)", className)
+                    .build())
+            .addMethod(
+                MethodSpec.methodBuilder("serializedSize")
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(int.class)
+                    .addStatement("return $T.serializedSize(this)", className)
                     .build());
 
     protocolPacket
@@ -248,7 +248,7 @@ class FieldCodeGenerator {
         .put(name, new ObjectCodeGenerator.FieldData(javaName, type, offset, arrayField));
     data.getTypeSpec()
         .addField(
-            FieldSpec.builder(javaTypeName, javaName, Modifier.PRIVATE)
+            FieldSpec.builder(getJavaFieldTypeName(javaTypeName), javaName, Modifier.PRIVATE)
                 .initializer(initializer)
                 .build());
 
@@ -265,12 +265,19 @@ class FieldCodeGenerator {
             .addJavadoc(javadoc)
             .addModifiers(Modifier.PUBLIC);
 
+    CodeBlock fieldValue;
+    if (isCharSequenceField()) {
+      fieldValue = CodeBlock.of("$T.toString(this.$L, null)", Objects.class, javaName);
+    } else {
+      fieldValue = CodeBlock.of("this.$L", javaName);
+    }
+
     if (optional) {
       getter
           .returns(ParameterizedTypeName.get(ClassName.get(Optional.class), javaTypeName))
-          .addStatement("return $T.ofNullable(this.$L)", Optional.class, javaName);
+          .addStatement("return $T.ofNullable($L)", Optional.class, fieldValue);
     } else {
-      getter.returns(javaTypeName).addStatement("return this.$L", javaName);
+      getter.returns(javaTypeName).addStatement("return $L", fieldValue);
     }
 
     data.getTypeSpec().addMethod(getter.build());
@@ -365,10 +372,39 @@ class FieldCodeGenerator {
   }
 
   void generateSerialize() {
-    generateSerializeNullOptionalGuard();
+    generateNullOptionalGuard(data.getSerialize());
     generateSerializeNullNotAllowedError();
     generateSerializeLengthCheck();
 
+    if (isBulkNumericArrayField()) {
+      generateSerializeBulkNumericArray();
+    } else {
+      generateSerializeValue();
+    }
+
+    if (optional) {
+      data.getSerialize().endControlFlow();
+    }
+  }
+
+  private void generateSerializeBulkNumericArray() {
+    String javaName = NameUtils.snakeCaseToCamelCase(name);
+    String arraySizeExpression = getArraySizeExpression();
+    if (arraySizeExpression == null) {
+      data.getSerialize()
+          .addStatement("writer.add$L(data.$L)", getBulkNumericMethodSuffix(), javaName);
+    } else {
+      // Only the elements covered by the length are written, as with the per-element loop.
+      data.getSerialize()
+          .addStatement(
+              "writer.add$L(data.$L.subList(0, $L))",
+              getBulkNumericMethodSuffix(),
+              javaName,
+              arraySizeExpression);
+    }
+  }
+
+  private void generateSerializeValue() {
     if (arrayField) {
       String javaName = NameUtils.snakeCaseToCamelCase(name);
       String arraySizeExpression = getLengthExpression();
@@ -392,25 +428,20 @@ class FieldCodeGenerator {
       }
       data.getSerialize().endControlFlow();
     }
-
-    if (optional) {
-      data.getSerialize().endControlFlow();
-    }
   }
 
-  private void generateSerializeNullOptionalGuard() {
+  private void generateNullOptionalGuard(CodeBlock.Builder code) {
     if (!optional) {
       return;
     }
 
     String javaName = NameUtils.snakeCaseToCamelCase(name);
     if (context.isReachedOptionalField()) {
-      data.getSerialize()
-          .addStatement("reachedNullOptional = reachedNullOptional || data.$L == null", javaName);
+      code.addStatement("reachedNullOptional = reachedNullOptional || data.$L == null", javaName);
     } else {
-      data.getSerialize().addStatement("boolean reachedNullOptional = data.$L == null", javaName);
+      code.addStatement("boolean reachedNullOptional = data.$L == null", javaName);
     }
-    data.getSerialize().beginControlFlow("if (!reachedNullOptional)");
+    code.beginControlFlow("if (!reachedNullOptional)");
   }
 
   private void generateSerializeNullNotAllowedError() {
@@ -587,6 +618,83 @@ class FieldCodeGenerator {
     }
   }
 
+  void generateSerializedSize() {
+    generateNullOptionalGuard(data.getSerializedSize());
+
+    if (arrayField) {
+      generateSerializedSizeArray();
+    } else {
+      data.getSerializedSize().addStatement("size += $L", getSizeExpression());
+    }
+
+    if (optional) {
+      data.getSerializedSize().endControlFlow();
+    }
+  }
+
+  private void generateSerializedSizeArray() {
+    String javaName = NameUtils.snakeCaseToCamelCase(name);
+    String arraySizeExpression = getArraySizeExpression();
+    if (arraySizeExpression == null) {
+      arraySizeExpression = "data." + javaName + ".size()";
+    }
+
+    Optional<Integer> elementSize = getType().getFixedSize();
+    if (!delimited && elementSize.isPresent()) {
+      data.getSerializedSize()
+          .addStatement("size += $L * $L", arraySizeExpression, elementSize.get());
+      return;
+    }
+
+    data.getSerializedSize().beginControlFlow("for (int i = 0; i < $L; ++i)", arraySizeExpression);
+    if (delimited && !trailingDelimiter) {
+      data.getSerializedSize()
+          .beginControlFlow("if (i > 0)")
+          .addStatement("size += 1")
+          .endControlFlow();
+    }
+
+    data.getSerializedSize().addStatement("size += $L", getSizeExpression());
+
+    if (delimited && trailingDelimiter) {
+      data.getSerializedSize().addStatement("size += 1");
+    }
+    data.getSerializedSize().endControlFlow();
+  }
+
+  private CodeBlock getSizeExpression() {
+    Type type = getType();
+    if (type instanceof HasUnderlyingType) {
+      type = ((HasUnderlyingType) type).getUnderlyingType();
+    }
+
+    Optional<Integer> fixedSize = type.getFixedSize();
+    if (fixedSize.isPresent()) {
+      return CodeBlock.of("$L", fixedSize.get());
+    }
+
+    String valueExpression = getWriteValueExpression();
+    if (type instanceof StringType) {
+      if (hardcodedValue != null) {
+        return CodeBlock.of("$L", hardcodedValue.length());
+      }
+      String lengthExpression = arrayField ? null : getLengthExpression();
+      if (lengthExpression != null) {
+        return CodeBlock.of("$L", lengthExpression);
+      }
+      return CodeBlock.of("$L.length()", valueExpression);
+    } else if (type instanceof BlobType) {
+      return CodeBlock.of("$L.length", valueExpression);
+    } else if (type instanceof StructType) {
+      return CodeBlock.of(
+          "$T.serializedSize($L)",
+          ClassName.get(((StructType) type).getPackageName(), type.getName()),
+          valueExpression);
+    } else {
+      throw new AssertionError("Unhandled Type");
+    }
+  }
+
   void generateDeserialize() {
     if (optional) {
       data.getDeserialize().beginControlFlow("if (reader.getRemaining() > 0)");
@@ -604,7 +712,7 @@ class FieldCodeGenerator {
   }
 
   private void generateDeserializeArray() {
-    String arraySizeExpression = getLengthExpression();
+    String arraySizeExpression = getArraySizeExpression();
     if (arraySizeExpression == null && !delimited) {
       Optional<Integer> elementSize = getType().getFixedSize();
       if (elementSize.isPresent()) {
@@ -629,6 +737,17 @@ class FieldCodeGenerator {
             ParameterizedTypeName.get(ClassName.get(ArrayList.class), getJavaTypeName()),
             initialCapacity);
 
+    if (isBulkNumericArrayField() && arraySizeExpression != null) {
+      data.getDeserialize()
+          .beginControlFlow(
+              "for (int element : reader.get$L($L))",
+              getBulkNumericMethodSuffix(),
+              arraySizeExpression)
+          .addStatement("data.$L.add(element)", javaName)
+          .endControlFlow();
+      return;
+    }
+
     if (arraySizeExpression == null) {
       data.getDeserialize().beginControlFlow("while (reader.getRemaining() > 0)");
     } else {
@@ -673,7 +792,8 @@ class FieldCodeGenerator {
     if (type instanceof BasicType) {
       String lengthExpression = arrayField ? null : getLengthExpression();
       String readBasicType =
-          getReadStatementForBasicType((BasicType) type, lengthExpression, padded);
+          getReadStatementForBasicType(
+              (BasicType) type, lengthExpression, padded, isCharSequenceField());
       String offsetExpression = getLengthOffsetExpression(offset);
       if (offsetExpression != null) {
         readBasicType += offsetExpression;
@@ -705,7 +825,8 @@ class FieldCodeGenerator {
   }
 
   private static String getReadStatementForBasicType(
-      BasicType type, String lengthExpression, boolean padded) {
+      BasicType type, String lengthExpression, boolean padded, boolean charSequence) {
+    String stringType = charSequence ? "CharSequence" : "String";
     switch (type.getName()) {
       case "byte":
         return "reader.getByte()";
@@ -720,17 +841,18 @@ class FieldCodeGenerator {
       case "string":
         {
           if (lengthExpression == null) {
-            return "reader.getString()";
+            return String.format("reader.get%s()", stringType);
           } else {
-            return String.format("reader.getFixedString(%s, %s)", lengthExpression, padded);
+            return String.format("reader.getFixed%s(%s, %s)", stringType, lengthExpression, padded);
           }
         }
       case "encoded_string":
         {
           if (lengthExpression == null) {
-            return "reader.getEncodedString()";
+            return String.format("reader.getEncoded%s()", stringType);
           } else {
-            return String.format("reader.getFixedEncodedString(%s, %s)", lengthExpression, padded);
+            return String.format(
+                "reader.getFixedEncoded%s(%s, %s)", stringType, lengthExpression, padded);
           }
         }
       default:
@@ -738,13 +860,152 @@ class FieldCodeGenerator {
     }
   }
 
+  void generateSkip() {
+    if (isSkipLocalField()) {
+      generateSkipLocal();
+      return;
+    }
+
+    if (optional) {
+      data.getSkip().beginControlFlow("if (reader.getRemaining() > 0)");
+    }
+
+    if (arrayField) {
+      generateSkipArray();
+    } else {
+      data.getSkip().add(getSkipStatement());
+    }
+
+    if (optional) {
+      data.getSkip().endControlFlow();
+    }
+  }
+
+  /**
+   * Named numeric fields are read into {@code int} locals instead of being skipped, since later
+   * instructions may need their values as lengths or switch values. Reading a number doesn't
+   * allocate, so this costs about the same as skipping it.
+   */
+  private boolean isSkipLocalField() {
+    Type type = getType();
+    return name != null && !arrayField && (type instanceof IntegerType || type instanceof EnumType);
+  }
+
+  private void generateSkipLocal() {
+    Type type = getType();
+    if (type instanceof HasUnderlyingType) {
+      type = ((HasUnderlyingType) type).getUnderlyingType();
+    }
+
+    String javaName = NameUtils.snakeCaseToCamelCase(name);
+    String readBasicType = getReadStatementForBasicType((BasicType) type, null, false, false);
+    String offsetExpression = getLengthOffsetExpression(offset);
+    if (offsetExpression != null) {
+      readBasicType += offsetExpression;
+    }
+
+    if (optional) {
+      data.getSkip()
+          .addStatement("int $L = 0", javaName)
+          .beginControlFlow("if (reader.getRemaining() > 0)")
+          .addStatement("$L = $L", javaName, readBasicType)
+          .endControlFlow();
+    } else {
+      data.getSkip().addStatement("int $L = $L", javaName, readBasicType);
+    }
+  }
+
+  private void generateSkipArray() {
+    Type type = getType();
+    if (type instanceof HasUnderlyingType) {
+      type = ((HasUnderlyingType) type).getUnderlyingType();
+    }
+
+    String arraySizeExpression = getLengthExpression("");
+    Optional<Integer> elementSize = type.getFixedSize();
+
+    if (!delimited && elementSize.isPresent()) {
+      if (arraySizeExpression == null) {
+        arraySizeExpression = NameUtils.snakeCaseToCamelCase(name) + "Size";
+        data.getSkip()
+            .addStatement(
+                "int $L = reader.getRemaining() / $L", arraySizeExpression, elementSize.get());
+      }
+
+      // A size read from a length field could be negative, which reader.skip doesn't allow.
+      boolean nonNegativeSize = lengthString == null || NumberUtils.isInteger(lengthString);
+      if (type instanceof BasicType && nonNegativeSize) {
+        data.getSkip().addStatement("reader.skip($L * $L)", arraySizeExpression, elementSize.get());
+        return;
+      }
+    }
+
+    if (arraySizeExpression == null) {
+      data.getSkip().beginControlFlow("while (reader.getRemaining() > 0)");
+    } else {
+      data.getSkip().beginControlFlow("for (int i = 0; i < $L; ++i)", arraySizeExpression);
+    }
+
+    data.getSkip().add(getSkipStatement());
+
+    if (delimited) {
+      boolean needsGuard = !trailingDelimiter && arraySizeExpression != null;
+      if (needsGuard) {
+        data.getSkip().beginControlFlow("if (i + 1 < $L)", arraySizeExpression);
+      }
+
+      data.getSkip().addStatement("reader.nextChunk()");
+
+      if (needsGuard) {
+        data.getSkip().endControlFlow();
+      }
+    }
+
+    data.getSkip().endControlFlow();
+  }
+
+  private CodeBlock getSkipStatement() {
+    Type type = getType();
+    if (type instanceof HasUnderlyingType) {
+      type = ((HasUnderlyingType) type).getUnderlyingType();
+    }
+
+    if (type instanceof IntegerType) {
+      return CodeBlock.builder()
+          .addStatement("reader.skip($L)", type.getFixedSize().orElseThrow(AssertionError::new))
+          .build();
+    } else if (type instanceof StringType) {
+      String lengthExpression = arrayField ? null : getLengthExpression("");
+      if (lengthExpression == null) {
+        return CodeBlock.builder().addStatement("reader.skipString()").build();
+      }
+      return CodeBlock.builder().addStatement("reader.skip($L)", lengthExpression).build();
+    } else if (type instanceof BlobType) {
+      return CodeBlock.builder().addStatement("reader.skip(reader.getRemaining())").build();
+    } else if (type instanceof StructType) {
+      ClassName typeName = ClassName.get(((StructType) type).getPackageName(), type.getName());
+      return CodeBlock.builder().addStatement("$T.skip(reader)", typeName).build();
+    } else {
+      throw new AssertionError("Unhandled Type");
+    }
+  }
+
   void generateObjectMethods() {
     if (name == null) {
       return;
     }
 
     String javaName = NameUtils.snakeCaseToCamelCase(name);
-    data.getEquals().add(" && $1T.equals($2L, other.$2L)", Objects.class, javaName);
+    if (isCharSequenceField()) {
+      // A LazyString is never equal to a String, so compare the decoded values.
+      data.getEquals()
+          .add(
+              " && $1T.equals($1T.toString($2L, null), $1T.toString(other.$2L, null))",
+              Objects.class,
+              javaName);
+    } else {
+      data.getEquals().add(" && $1T.equals($2L, other.$2L)", Objects.class, javaName);
+    }
     data.getHashCode().add(", $L", javaName);
 
     String stringPart = ", " + javaName + "=";
@@ -789,7 +1050,54 @@ class FieldCodeGenerator {
     return result;
   }
 
+  /**
+   * Non-delimited arrays of plain integers are read and written with the bulk {@code EoReader} and
+   * {@code EoWriter} methods, rather than one element at a time.
+   */
+  private boolean isBulkNumericArrayField() {
+    return arrayField
+        && !delimited
+        && getType() instanceof IntegerType
+        && !getType().getName().equals("byte");
+  }
+
+  private String getBulkNumericMethodSuffix() {
+    switch (getType().getName()) {
+      case "char":
+        return "Chars";
+      case "short":
+        return "Shorts";
+      case "three":
+        return "Threes";
+      case "int":
+        return "Ints";
+      default:
+        throw new AssertionError("Unhandled IntegerType");
+    }
+  }
+
+  private TypeName getJavaFieldTypeName(TypeName javaTypeName) {
+    if (isCharSequenceField()) {
+      return ClassName.get(CharSequence.class);
+    }
+    return javaTypeName;
+  }
+
+  /**
+   * String fields are stored as {@code CharSequence} so that they can hold a {@code LazyString}
+   * when deserialized in lazy string mode. Their accessors still use {@code String}.
+   *
+   * <p>Array fields and hardcoded fields are always stored as {@code String}.
+   */
+  private boolean isCharSequenceField() {
+    return name != null && !arrayField && hardcodedValue == null && getType() instanceof StringType;
+  }
+
   private String getLengthExpression() {
+    return getLengthExpression("data.");
+  }
+
+  private String getLengthExpression(String fieldPrefix) {
     if (lengthString == null) {
       return null;
     }
@@ -800,11 +1108,24 @@ class FieldCodeGenerator {
         throw new CodeGenerationError(
             String.format("Referenced %s field is not accessible.", expression));
       }
-      expression = "data." + fieldData.getJavaName();
+      expression = fieldPrefix + fieldData.getJavaName();
     }
     return expression;
   }
 
+  /**
+   * Gets the length expression of an array field, clamped to 0 when it refers to a length field. A
+   * size read from a length field could be negative, which bulk reads, {@code subList} and size
+   * arithmetic don't allow, whereas a per-element loop would simply not run.
+   */
+  private String getArraySizeExpression() {
+    String expression = getLengthExpression();
+    if (expression == null || NumberUtils.isInteger(lengthString)) {
+      return expression;
+    }
+    return "Math.max(0, " + expression + ")";
+  }
+
   private static String getLengthOffsetExpression(int offset) {
     if (offset != 0) {
       String operator = offset > 0 ? "+" : "-";
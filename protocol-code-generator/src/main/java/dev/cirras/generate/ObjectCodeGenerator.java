@@ -80,7 +80,9 @@ final class ObjectCodeGenerator {
 
     fieldCodeGenerator.generateField();
     fieldCodeGenerator.generateSerialize();
+    fieldCodeGenerator.generateSerializedSize();
     fieldCodeGenerator.generateDeserialize();
+    fieldCodeGenerator.generateSkip();
     fieldCodeGenerator.generateObjectMethods();
 
     if (protocolField.isOptional()) {
@@ -116,7 +118,9 @@ final class ObjectCodeGenerator {
 
     fieldCodeGenerator.generateField();
     fieldCodeGenerator.generateSerialize();
+    fieldCodeGenerator.generateSerializedSize();
     fieldCodeGenerator.generateDeserialize();
+    fieldCodeGenerator.generateSkip();
     fieldCodeGenerator.generateObjectMethods();
 
     if (protocolArray.isOptional()) {
@@ -144,7 +148,9 @@ final class ObjectCodeGenerator {
 
     fieldCodeGenerator.generateField();
     fieldCodeGenerator.generateSerialize();
+    fieldCodeGenerator.generateSerializedSize();
     fieldCodeGenerator.generateDeserialize();
+    fieldCodeGenerator.generateSkip();
     fieldCodeGenerator.generateObjectMethods();
 
     if (protocolLength.isOptional()) {
@@ -176,14 +182,20 @@ final class ObjectCodeGenerator {
     if (needsIfGuards) {
       data.getSerialize().beginControlFlow("if (writer.getLength() == oldWriterLength)");
       data.getDeserialize().beginControlFlow("if (reader.getPosition() == readerStartPosition)");
+      data.getSkip().beginControlFlow("if (reader.getPosition() == readerStartPosition)");
+      data.getSerializedSize().beginControlFlow("if (size == 0)");
     }
 
     fieldCodeGenerator.generateSerialize();
+    fieldCodeGenerator.generateSerializedSize();
     fieldCodeGenerator.generateDeserialize();
+    fieldCodeGenerator.generateSkip();
 
     if (needsIfGuards) {
       data.getSerialize().endControlFlow();
+      data.getSerializedSize().endControlFlow();
       data.getDeserialize().endControlFlow();
+      data.getSkip().endControlFlow();
     }
 
     context.setReachedDummy(true);
@@ -221,6 +233,7 @@ final class ObjectCodeGenerator {
     if (!wasAlreadyEnabled) {
       context.setChunkedReadingEnabled(true);
       data.getDeserialize().addStatement("reader.setChunkedReadingMode(true)");
+      data.getSkip().addStatement("reader.setChunkedReadingMode(true)");
       data.getSerialize().addStatement("writer.setStringSanitizationMode(true)");
     }
 
@@ -229,6 +242,7 @@ final class ObjectCodeGenerator {
     if (!wasAlreadyEnabled) {
       context.setChunkedReadingEnabled(false);
       data.getDeserialize().addStatement("reader.setChunkedReadingMode(false)");
+      data.getSkip().addStatement("reader.setChunkedReadingMode(false)");
       data.getSerialize().addStatement("writer.setStringSanitizationMode(false)");
     }
   }
@@ -244,7 +258,9 @@ final class ObjectCodeGenerator {
     context.setReachedDummy(false);
 
     data.getDeserialize().addStatement("reader.nextChunk()");
+    data.getSkip().addStatement("reader.nextChunk()");
     data.getSerialize().addStatement("writer.addByte(0xFF)");
+    data.getSerializedSize().addStatement("size += 1");
   }
 
   private MethodSpec generateSerializeMethod() {
@@ -282,6 +298,30 @@ final class ObjectCodeGenerator {
         .build();
   }
 
+  private MethodSpec generateSerializedSizeMethod() {
+    return MethodSpec.methodBuilder("serializedSize")
+        .addJavadoc(
+            "Returns the number of bytes that {@link #serialize} would write for an instance of"
+                + " {@code $T}, without serializing it.",
+            data.getTypeName())
+        .addJavadoc("\n\n")
+        .addJavadoc(
+            "<p>This can be used to size an {@code $T} up front, so that it never needs to grow"
+                + " during serialization. The size of a string containing supplementary characters"
+                + " may be overestimated. If the data is invalid, the result is unspecified.",
+            JavaPoetUtils.getWriterTypeName())
+        .addJavadoc("\n\n")
+        .addJavadoc("@param data the data to measure\n")
+        .addJavadoc("@return the serialized size of the data, in bytes")
+        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+        .addParameter(data.getTypeName(), "data")
+        .returns(int.class)
+        .addStatement("int size = 0")
+        .addCode(data.getSerializedSize().build())
+        .addStatement("return size")
+        .build();
+  }
+
   private MethodSpec generateDeserializeMethod() {
     return MethodSpec.methodBuilder("deserialize")
         .addJavadoc(
@@ -307,6 +347,39 @@ final class ObjectCodeGenerator {
         .build();
   }
 
+  private MethodSpec generateSkipMethod() {
+    CodeBlock methodCode = data.getSkip().build();
+    if (context.isNeedsOldWriterLengthVariable()) {
+      methodCode =
+          CodeBlock.builder()
+              .addStatement("int readerStartPosition = reader.getPosition()")
+              .add(methodCode)
+              .build();
+    }
+
+    return MethodSpec.methodBuilder("skip")
+        .addJavadoc(
+            "Advances the provided {@code $T} past an instance of {@code $T}, without"
+                + " deserializing it.",
+            JavaPoetUtils.getReaderTypeName(),
+            data.getTypeName())
+        .addJavadoc("\n\n")
+        .addJavadoc(
+            "<p>Strings, blobs and other non-numeric fields are skipped without being decoded, and"
+                + " no objects are created.")
+        .addJavadoc("\n\n")
+        .addJavadoc("@param reader the reader that the data will be skipped in")
+        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+        .addParameter(JavaPoetUtils.getReaderTypeName(), "reader")
+        .addStatement("boolean oldChunkedReadingMode = reader.getChunkedReadingMode()")
+        .beginControlFlow("try")
+        .addCode(methodCode)
+        .nextControlFlow("finally")
+        .addStatement("reader.setChunkedReadingMode(oldChunkedReadingMode)")
+        .endControlFlow()
+        .build();
+  }
+
   private MethodSpec generateHashCodeMethod() {
     CodeBlock hashCodeExpression = data.getHashCode().build();
     if (hashCodeExpression.isEmpty()) {
@@ -369,7 +442,9 @@ final class ObjectCodeGenerator {
   TypeSpec.Builder getTypeSpec() {
     return JavaPoetUtils.cloneTypeSpecBuilder(data.getTypeSpec())
         .addMethod(generateSerializeMethod())
+        .addMethod(generateSerializedSizeMethod())
         .addMethod(generateDeserializeMethod())
+        .addMethod(generateSkipMethod())
         .addMethod(generateHashCodeMethod())
         .addMethod(generateEqualsMethod())
         .addMethod(generateToStringMethod());
@@ -476,7 +551,9 @@ final class ObjectCodeGenerator {
     private final ClassName typeName;
     private final TypeSpec.Builder typeSpec;
     private final CodeBlock.Builder serialize;
+    private final CodeBlock.Builder serializedSize;
     private final CodeBlock.Builder deserialize;
+    private final CodeBlock.Builder skip;
     private final CodeBlock.Builder toString;
     private final CodeBlock.Builder equals;
     private final CodeBlock.Builder hashCode;
@@ -502,7 +579,9 @@ final class ObjectCodeGenerator {
                       .addStatement("return this.byteSize")
                       .build());
       this.serialize = CodeBlock.builder();
+      this.serializedSize = CodeBlock.builder();
       this.deserialize = CodeBlock.builder();
+      this.skip = CodeBlock.builder();
       this.toString = CodeBlock.builder();
       this.equals = CodeBlock.builder();
       this.hashCode = CodeBlock.builder();
@@ -520,10 +599,18 @@ final class ObjectCodeGenerator {
       return serialize;
     }
 
+    public CodeBlock.Builder getSerializedSize() {
+      return serializedSize;
+    }
+
     public CodeBlock.Builder getDeserialize() {
       return deserialize;
     }
 
+    public CodeBlock.Builder getSkip() {
+      return skip;
+    }
+
     public CodeBlock.Builder getToString() {
       return toString;
     }
@@ -83,12 +83,17 @@ final class SwitchCodeGenerator {
       switchValueExpression += ".asInteger()";
     }
     data.getSerialize().beginControlFlow("switch ($L)", switchValueExpression);
+    data.getSerializedSize().beginControlFlow("switch ($L)", switchValueExpression);
     data.getDeserialize().beginControlFlow("switch ($L)", switchValueExpression);
+    // In skip, the switch field is always read into an int local. See FieldCodeGenerator.
+    data.getSkip().beginControlFlow("switch ($L)", fieldData.getJavaName());
   }
 
   void generateSwitchEnd() {
     data.getSerialize().endControlFlow();
+    data.getSerializedSize().endControlFlow();
     data.getDeserialize().endControlFlow();
+    data.getSkip().endControlFlow();
   }
 
   void generateObjectMethods() {
@@ -107,7 +112,9 @@ final class SwitchCodeGenerator {
     if (protocolCase.isDefault()) {
       caseDataName += "Default";
       data.getSerialize().add("default:\n").indent();
+      data.getSerializedSize().add("default:\n").indent();
       data.getDeserialize().add("default:\n").indent();
+      data.getSkip().add("default:\n").indent();
     } else {
       caseDataName += protocolCase.getValue();
 
@@ -115,7 +122,9 @@ final class SwitchCodeGenerator {
       String comment = "// " + getCaseValueDocsExpression(protocolCase);
 
       data.getSerialize().add("case $L: $L\n", caseValueExpression, comment).indent();
+      data.getSerializedSize().add("case $L: $L\n", caseValueExpression, comment).indent();
       data.getDeserialize().add("case $L: $L\n", caseValueExpression, comment).indent();
+      data.getSkip().add("case $L: $L\n", caseValueExpression, comment).indent();
     }
 
     ObjectCodeGenerator.Context caseContext = new ObjectCodeGenerator.Context(context);
@@ -159,10 +168,18 @@ final class SwitchCodeGenerator {
 
       data.getDeserialize()
           .addStatement("data.$L = $T.deserialize(reader)", caseDataFieldName, caseDataTypeName);
+
+      data.getSkip().addStatement("$T.skip(reader)", caseDataTypeName);
+
+      data.getSerializedSize()
+          .addStatement(
+              "size += $1T.serializedSize(($1T) data.$2L)", caseDataTypeName, caseDataFieldName);
     }
 
     data.getSerialize().addStatement("break").unindent();
+    data.getSerializedSize().addStatement("break").unindent();
     data.getDeserialize().addStatement("break").unindent();
+    data.getSkip().addStatement("break").unindent();
 
     return caseContext;
   }
@@ -0,0 +1,39 @@
+package dev.cirras.generate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CodeGeneratorTest {
+  @TempDir Path outputRoot;
+
+  @Test
+  void testArraysSizedByLengthFieldWithOffsetAreClamped() throws Exception {
+    String source = generate("length-offset", "LengthOffset");
+
+    // A length field with a negative offset can decode to a negative size.
+    assertThat(source)
+        .contains("new ArrayList<Integer>(Math.max(0, data.shortsLength))")
+        .contains("reader.getShorts(Math.max(0, data.shortsLength))")
+        .contains("reader.getChars(Math.max(0, data.charsLength))")
+        .contains("writer.addShorts(data.shorts.subList(0, Math.max(0, data.shortsLength)))")
+        .contains("writer.addChars(data.chars.subList(0, Math.max(0, data.charsLength)))")
+        .contains("size += Math.max(0, data.shortsLength) * 2")
+        .contains("size += Math.max(0, data.charsLength) * 1");
+  }
+
+  private String generate(String fixture, String className) throws IOException, URISyntaxException {
+    Path inputRoot = Paths.get(CodeGeneratorTest.class.getResource("/" + fixture).toURI());
+    new CodeGenerator(inputRoot, outputRoot).generate();
+
+    Path source = outputRoot.resolve("dev/cirras/protocol/" + className + ".java");
+    return new String(Files.readAllBytes(source), StandardCharsets.UTF_8);
+  }
+}